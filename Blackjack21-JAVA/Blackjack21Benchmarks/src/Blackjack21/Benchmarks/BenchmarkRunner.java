@@ -0,0 +1,28 @@
+package Blackjack21.Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the library benchmarks with the gc profiler, so every run reports the
+ * allocation rate next to the timings. JMH command line options are passed
+ * through, a benchmark name selects the benchmarks to run
+ */
+public class BenchmarkRunner
+{
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException
+    {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,80 @@
+package Blackjack21.Benchmarks;
+
+import Blackjack21.Game.Exceptions.DeckEmptyException;
+import Blackjack21.Game.Helper.XoshiroRandomSource;
+import Blackjack21.Game.Logic.CardDeck;
+import Blackjack21.Game.Model.Card;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building, shuffling and dealing from a deck
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardDeckBenchmark
+{
+
+    @Param(
+    {
+        "1", "6", "8"
+    })
+    public int deckCount;
+
+    private CardDeck _deck;
+
+    @Setup
+    public void setup()
+    {
+        this._deck = new CardDeck(new XoshiroRandomSource(1));
+        this._deck.newDeck(this.deckCount);
+        this._deck.shuffleDeck();
+    }
+
+    @Benchmark
+    public CardDeck newDeck()
+    {
+        this._deck.newDeck(this.deckCount);
+        return this._deck;
+    }
+
+    @Benchmark
+    public CardDeck shuffleDeck()
+    {
+        this._deck.shuffleDeck();
+        return this._deck;
+    }
+
+    /**
+     * Deal one card, the shoe is shuffled when it runs out so the shuffle is
+     * spread over the shoe's cards
+     *
+     * @return
+     * @throws DeckEmptyException
+     */
+    @Benchmark
+    public Card hitCard() throws DeckEmptyException
+    {
+        if (this._deck.getCardCount() == 0)
+        {
+            this._deck.shuffleDeck();
+        }
+
+        return this._deck.hitCard();
+    }
+
+}
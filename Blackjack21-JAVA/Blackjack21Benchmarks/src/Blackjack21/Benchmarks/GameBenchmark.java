@@ -0,0 +1,70 @@
+package Blackjack21.Benchmarks;
+
+import Blackjack21.Game.BlackjackGame;
+import Blackjack21.Game.Exceptions.PlayerExistsException;
+import Blackjack21.Game.Helper.XoshiroRandomSource;
+import Blackjack21.Game.Logic.Player;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Finding a seated player by name, which goes through the game's player index
+ * lookup
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark
+{
+
+    @Param(
+    {
+        "1", "4", "7"
+    })
+    public int playerCount;
+
+    private BlackjackGame _game;
+    private String _lastPlayer;
+    private String _missingPlayer;
+
+    @Setup
+    public void setup() throws PlayerExistsException
+    {
+        this._game = new BlackjackGame(new XoshiroRandomSource(1));
+        for (int seat = 0; seat < this.playerCount; seat++)
+        {
+            this._lastPlayer = "Player " + seat;
+            this._game.addPlayer(this._lastPlayer);
+        }
+
+        // a new string so the lookup compares the characters
+        this._lastPlayer = new String(this._lastPlayer);
+        this._missingPlayer = "Nobody";
+    }
+
+    @Benchmark
+    public Player findPlayer()
+    {
+        return this._game.tryGetGamePlayer(this._lastPlayer);
+    }
+
+    @Benchmark
+    public Player findMissingPlayer()
+    {
+        return this._game.tryGetGamePlayer(this._missingPlayer);
+    }
+
+}
@@ -0,0 +1,110 @@
+package Blackjack21.Benchmarks;
+
+import Blackjack21.Game.Exceptions.InvalidHandSplitException;
+import Blackjack21.Game.Exceptions.PlayerHandNotSplitException;
+import Blackjack21.Game.Logic.Player;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.CardSymbol;
+import Blackjack21.Game.Model.CardType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adding cards to a hand, reading its value and splitting a pair
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark
+{
+
+    private PlayerHand _hand;
+    private PlayerHand _softHand;
+    private PlayerHand _hardHand;
+    private Player _player;
+    private Card _ace;
+    private Card _six;
+    private Card _eight;
+    private Card _otherEight;
+
+    @Setup
+    public void setup()
+    {
+        this._hand = new PlayerHand();
+        this._player = new Player("Benchmark");
+        this._ace = Card.of(CardType.ACE, CardSymbol.SPADES);
+        this._six = Card.of(CardType.SIX, CardSymbol.HEARTS);
+        this._eight = Card.of(CardType.EIGHT, CardSymbol.CLUBS);
+        this._otherEight = Card.of(CardType.EIGHT, CardSymbol.DIAMONDS);
+
+        this._softHand = new PlayerHand();
+        this._softHand.addCard(this._ace);
+        this._softHand.addCard(this._six);
+
+        this._hardHand = new PlayerHand();
+        this._hardHand.addCard(this._ace);
+        this._hardHand.addCard(this._six);
+        this._hardHand.addCard(this._eight);
+    }
+
+    /**
+     * Deal a soft hand that turns hard on the third card
+     *
+     * @return
+     */
+    @Benchmark
+    public PlayerHand addCard()
+    {
+        this._hand.clearCards();
+        this._hand.addCard(this._ace);
+        this._hand.addCard(this._six);
+        this._hand.addCard(this._eight);
+        return this._hand;
+    }
+
+    /**
+     * Read the value of a soft 17
+     *
+     * @return
+     */
+    @Benchmark
+    public int getSoftHandValue()
+    {
+        return this._softHand.getHandValue();
+    }
+
+    /**
+     * Read the value of a three card hard 15 that counts its ace as one
+     *
+     * @return
+     */
+    @Benchmark
+    public int getHardHandValue()
+    {
+        return this._hardHand.getHandValue();
+    }
+
+    @Benchmark
+    public Player splitHandCards() throws InvalidHandSplitException, PlayerHandNotSplitException
+    {
+        this._player.clearHands();
+        this._player.addFirstHandCard(this._eight);
+        this._player.addFirstHandCard(this._otherEight);
+        this._player.splitHandCards();
+        return this._player;
+    }
+
+}
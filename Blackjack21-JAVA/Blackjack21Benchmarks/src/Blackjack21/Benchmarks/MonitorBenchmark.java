@@ -0,0 +1,85 @@
+package Blackjack21.Benchmarks;
+
+import Blackjack21.Game.BlackjackGame;
+import Blackjack21.Game.Exceptions.PlayerExistsException;
+import Blackjack21.Game.Helper.XoshiroRandomSource;
+import Blackjack21.Game.Metrics.GameMetrics;
+import Blackjack21.Game.Metrics.RoundLatencies;
+import Blackjack21.Game.Model.ReshufflePolicy;
+import Blackjack21.Game.Simulation.RoundSimulator;
+import Blackjack21.Game.Simulation.SimulationStatistics;
+import Blackjack21.Game.Strategy.StrategyTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of collecting a table's metrics, full rounds with the monitor
+ * disabled and with the table's metrics collected, with and without the round
+ * phases timed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class MonitorBenchmark
+{
+
+    @Param(
+    {
+        "false", "true"
+    })
+    public boolean monitored;
+
+    @Param(
+    {
+        "false", "true"
+    })
+    public boolean timed;
+
+    private RoundSimulator _simulator;
+    private SimulationStatistics _statistics;
+
+    @Setup
+    public void setup() throws PlayerExistsException
+    {
+        BlackjackGame game = new BlackjackGame(new XoshiroRandomSource(1));
+        game.initializeDeck(6);
+        game.setReshufflePolicy(new ReshufflePolicy(0.75, 1, true));
+        for (int seat = 0; seat < 3; seat++)
+        {
+            game.addPlayer("Player " + seat);
+        }
+
+        if (this.monitored)
+        {
+            game.setMonitor(new GameMetrics());
+        }
+
+        if (this.timed)
+        {
+            game.setLatencies(new RoundLatencies());
+        }
+
+        this._simulator = new RoundSimulator(game, StrategyTable.forDeckCount(6));
+        this._statistics = new SimulationStatistics();
+    }
+
+    @Benchmark
+    public boolean playRound()
+    {
+        return this._simulator.playRound(this._statistics);
+    }
+
+}
@@ -0,0 +1,89 @@
+package Blackjack21.Benchmarks;
+
+import Blackjack21.Game.BlackjackGame;
+import Blackjack21.Game.Exceptions.PlayerExistsException;
+import Blackjack21.Game.Helper.XoshiroRandomSource;
+import Blackjack21.Game.Simulation.RoundSimulator;
+import Blackjack21.Game.Simulation.SimulationStatistics;
+import Blackjack21.Game.Strategy.StrategyTable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendering a played table's state, as a string and into a reused builder and
+ * byte buffer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark
+{
+
+    @Param(
+    {
+        "1", "4", "7"
+    })
+    public int playerCount;
+
+    @Param(
+    {
+        "false", "true"
+    })
+    public boolean direct;
+
+    private BlackjackGame _game;
+    private StringBuilder _builder;
+    private ByteBuffer _buffer;
+
+    @Setup
+    public void setup() throws PlayerExistsException
+    {
+        this._game = new BlackjackGame(new XoshiroRandomSource(1));
+        this._game.initializeDeck(6);
+        for (int seat = 0; seat < this.playerCount; seat++)
+        {
+            this._game.addPlayer("Player " + seat);
+        }
+
+        new RoundSimulator(this._game, StrategyTable.forDeckCount(6)).playRound(new SimulationStatistics());
+        this._builder = new StringBuilder();
+        this._buffer = this.direct ? ByteBuffer.allocateDirect(1 << 16) : ByteBuffer.allocate(1 << 16);
+    }
+
+    @Benchmark
+    public String renderString()
+    {
+        return this._game.toString();
+    }
+
+    @Benchmark
+    public StringBuilder renderBuilder() throws IOException
+    {
+        this._builder.setLength(0);
+        this._game.appendTo(this._builder);
+        return this._builder;
+    }
+
+    @Benchmark
+    public ByteBuffer renderBuffer()
+    {
+        this._buffer.clear();
+        return this._game.appendTo(this._buffer);
+    }
+
+}
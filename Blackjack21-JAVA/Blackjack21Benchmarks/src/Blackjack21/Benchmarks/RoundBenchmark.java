@@ -0,0 +1,74 @@
+package Blackjack21.Benchmarks;
+
+import Blackjack21.Game.BlackjackGame;
+import Blackjack21.Game.Exceptions.PlayerExistsException;
+import Blackjack21.Game.Helper.XoshiroRandomSource;
+import Blackjack21.Game.Model.ReshufflePolicy;
+import Blackjack21.Game.Simulation.RoundSimulator;
+import Blackjack21.Game.Simulation.SimulationStatistics;
+import Blackjack21.Game.Strategy.StrategyTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full rounds per second, dealt, played with basic strategy and settled. The
+ * shoe is cut at 75% and reshuffled in the middle of a round when it runs
+ * out, so no round is abandoned
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark
+{
+
+    @Param(
+    {
+        "1", "2", "3", "4", "5", "6", "7"
+    })
+    public int playerCount;
+
+    @Param(
+    {
+        "1", "2", "4", "6", "8"
+    })
+    public int deckCount;
+
+    private RoundSimulator _simulator;
+    private SimulationStatistics _statistics;
+
+    @Setup
+    public void setup() throws PlayerExistsException
+    {
+        BlackjackGame game = new BlackjackGame(new XoshiroRandomSource(1));
+        game.initializeDeck(this.deckCount);
+        game.setReshufflePolicy(new ReshufflePolicy(0.75, 1, true));
+        for (int seat = 0; seat < this.playerCount; seat++)
+        {
+            game.addPlayer("Player " + seat);
+        }
+
+        // the multiple deck table covers shoes over 6 decks
+        this._simulator = new RoundSimulator(game, StrategyTable.forDeckCount(Math.min(this.deckCount, 6)));
+        this._statistics = new SimulationStatistics();
+    }
+
+    @Benchmark
+    public boolean playRound()
+    {
+        return this._simulator.playRound(this._statistics);
+    }
+
+}
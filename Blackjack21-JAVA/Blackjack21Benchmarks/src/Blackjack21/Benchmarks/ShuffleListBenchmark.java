@@ -0,0 +1,63 @@
+package Blackjack21.Benchmarks;
+
+import Blackjack21.Game.Helper.ShuffleList;
+import Blackjack21.Game.Helper.XoshiroRandomSource;
+import Blackjack21.Game.Model.Card;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The two list shuffles on a list of cards the size of a shoe
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleListBenchmark
+{
+
+    @Param(
+    {
+        "52", "312", "416"
+    })
+    public int cardCount;
+
+    private ShuffleList<Card> _cards;
+
+    @Setup
+    public void setup()
+    {
+        this._cards = new ShuffleList<>(new XoshiroRandomSource(1));
+        for (int index = 0; index < this.cardCount; index++)
+        {
+            this._cards.add(Card.fromCode(index % (Card.CARD_TYPE_COUNT * Card.CARD_SYMBOL_COUNT)));
+        }
+    }
+
+    @Benchmark
+    public ShuffleList<Card> shuffleShift()
+    {
+        this._cards.shuffleShift();
+        return this._cards;
+    }
+
+    @Benchmark
+    public ShuffleList<Card> shuffleInplace()
+    {
+        this._cards.shuffleInplace();
+        return this._cards;
+    }
+
+}
@@ -30,27 +30,27 @@ public class TestCaseApplication
         // Dealer Cards
         game.addDealerCards(new Card[]
         {
-            new Card(CardType.JACK, CardSymbol.SPADES), new Card(CardType.NINE, CardSymbol.HEARTS)
+            Card.of(CardType.JACK, CardSymbol.SPADES), Card.of(CardType.NINE, CardSymbol.HEARTS)
         });
         // Add Player 1 Cards : Lemmy
         game.addPlayerCards(PLAYER1, new Card[]
         {
-            new Card(CardType.ACE, CardSymbol.SPADES), new Card(CardType.SEVEN, CardSymbol.HEARTS), new Card(CardType.ACE, CardSymbol.DIAMONDS)
+            Card.of(CardType.ACE, CardSymbol.SPADES), Card.of(CardType.SEVEN, CardSymbol.HEARTS), Card.of(CardType.ACE, CardSymbol.DIAMONDS)
         });
         // Add Player 2 Cards : Andrew
         game.addPlayerCards(PLAYER2, new Card[]
         {
-            new Card(CardType.KING, CardSymbol.DIAMONDS), new Card(CardType.FOUR, CardSymbol.SPADES), new Card(CardType.FOUR, CardSymbol.CLUBS)
+            Card.of(CardType.KING, CardSymbol.DIAMONDS), Card.of(CardType.FOUR, CardSymbol.SPADES), Card.of(CardType.FOUR, CardSymbol.CLUBS)
         });
         // Add Player 3 Cards : Billy
         game.addPlayerCards(PLAYER3, new Card[]
         {
-            new Card(CardType.TWO, CardSymbol.SPADES), new Card(CardType.TWO, CardSymbol.DIAMONDS), new Card(CardType.TWO, CardSymbol.HEARTS), new Card(CardType.FOUR, CardSymbol.DIAMONDS), new Card(CardType.FIVE, CardSymbol.CLUBS)
+            Card.of(CardType.TWO, CardSymbol.SPADES), Card.of(CardType.TWO, CardSymbol.DIAMONDS), Card.of(CardType.TWO, CardSymbol.HEARTS), Card.of(CardType.FOUR, CardSymbol.DIAMONDS), Card.of(CardType.FIVE, CardSymbol.CLUBS)
         });
         // Add Player 4 Cards Carla
         game.addPlayerCards(PLAYER4, new Card[]
         {
-            new Card(CardType.QUEEN, CardSymbol.CLUBS), new Card(CardType.SIX, CardSymbol.SPADES), new Card(CardType.NINE, CardSymbol.DIAMONDS)
+            Card.of(CardType.QUEEN, CardSymbol.CLUBS), Card.of(CardType.SIX, CardSymbol.SPADES), Card.of(CardType.NINE, CardSymbol.DIAMONDS)
         });
         // Ends the current round of the game
         game.concludeRound();
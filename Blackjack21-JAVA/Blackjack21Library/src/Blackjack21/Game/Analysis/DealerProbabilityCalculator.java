@@ -0,0 +1,364 @@
+package Blackjack21.Game.Analysis;
+
+import Blackjack21.Game.Helper.CompositionHash;
+import Blackjack21.Game.Helper.TranspositionTable;
+import Blackjack21.Game.Logic.CardDeck;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.Card;
+import java.util.Arrays;
+
+/**
+ * Calculates the exact chances of the dealer's final hand from a dealer card
+ * and the cards left in the shoe. Results are cached by the shoe's composition
+ * hash and the dealer card, so a repeated query is a hash and one cache
+ * lookup. A new shoe is worked out once per dealer hand, the hands being kept
+ * by the cards the dealer drew in a small table that is reused by every
+ * query.
+ * <p>
+ * The chances are returned by outcome, the totals 17 to 21, a bust and a
+ * blackjack. Shoes are card counts by rank, from 0 for an ace to 9 for the ten
+ * value cards. The calculator is not thread safe, use one per thread
+ */
+public class DealerProbabilityCalculator
+{
+
+    public static final int DEALER_STAND_VALUE = 17;
+    public static final int BUST = PlayerHand.MAX_HAND_VALUE - DEALER_STAND_VALUE + 1;
+    public static final int BLACKJACK = BUST + 1;
+    public static final int OUTCOME_COUNT = BLACKJACK + 1;
+    public static final int DEFAULT_CACHE_CAPACITY = 1 << 16;
+
+    private static final int RANK_COUNT = Card.CARD_RANK_COUNT;
+    // a dealer plays out fewer than 400 hands from one card
+    private static final int HAND_TABLE_BITS = 11;
+    private static final int HAND_TABLE_LIMIT = (1 << HAND_TABLE_BITS) / 2;
+    // each rank count of a hand key takes 5 bits
+    private static final int HAND_KEY_BITS = 5;
+
+    private final boolean _hitsSoft17;
+    private final TranspositionTable _cache;
+    // the outcome chances being summed at each dealer card count
+    private final double[][] _levels;
+    private final int[] _shoe;
+    private int _cardTotal;
+    private long _shoeHash;
+    // the dealer hands of the current query by the ranks drawn, slots from
+    // older queries have an older stamp
+    private final long[] _handKeys;
+    private final int[] _handStamps;
+    private final double[] _handValues;
+    private int _handStamp;
+    private int _handCount;
+    private long _handKey;
+
+    /**
+     * Initialize a calculator for a dealer that stands on all 17s
+     */
+    public DealerProbabilityCalculator()
+    {
+        this(false);
+    }
+
+    /**
+     * Initialize the calculator
+     *
+     * @param hitsSoft17 Set if the dealer hits a soft 17
+     */
+    public DealerProbabilityCalculator(boolean hitsSoft17)
+    {
+        this(hitsSoft17, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Initialize the calculator
+     *
+     * @param hitsSoft17 Set if the dealer hits a soft 17
+     * @param cacheCapacity Number of query results the cache holds
+     */
+    public DealerProbabilityCalculator(boolean hitsSoft17, int cacheCapacity)
+    {
+        this._hitsSoft17 = hitsSoft17;
+        this._cache = new TranspositionTable(cacheCapacity, OUTCOME_COUNT);
+        this._levels = new double[PlayerHand.MAX_HAND_CARDS + 1][OUTCOME_COUNT];
+        this._shoe = new int[RANK_COUNT];
+        this._handKeys = new long[1 << HAND_TABLE_BITS];
+        this._handStamps = new int[1 << HAND_TABLE_BITS];
+        this._handValues = new double[(1 << HAND_TABLE_BITS) * OUTCOME_COUNT];
+    }
+
+    /**
+     * Returns the dealer outcome index of a final dealer total
+     *
+     * @param total The dealer total from 17 to 21
+     * @return
+     */
+    public static int outcomeOf(int total)
+    {
+        return total - DEALER_STAND_VALUE;
+    }
+
+    /**
+     * Gets if the dealer hits a soft 17
+     *
+     * @return
+     */
+    public boolean getHitsSoft17()
+    {
+        return this._hitsSoft17;
+    }
+
+    /**
+     * Gets the number of cached query results
+     *
+     * @return
+     */
+    public int getCacheSize()
+    {
+        return this._cache.getSize();
+    }
+
+    /**
+     * Clear the cached query results
+     */
+    public void clearCache()
+    {
+        this._cache.clear();
+    }
+
+    /**
+     * Calculate the dealer outcome chances of a dealt dealer hand from the
+     * cards the players have not seen, the cards left in the deck and the
+     * dealer's face down hole card
+     *
+     * @param deck The deck the hand was dealt from
+     * @param dealerHand The dealer's hand, its first card is the face up card
+     * @return
+     */
+    public double[] calculate(CardDeck deck, PlayerHand dealerHand)
+    {
+        int[] shoe = deck.getRankCounts();
+        if (dealerHand.getCardCount() > 1)
+        {
+            shoe[rankOf(dealerHand.getCardCode(1))]++;
+        }
+
+        return calculate(shoe, rankOf(dealerHand.getCardCode(0)));
+    }
+
+    /**
+     * Returns the rank of a card code
+     *
+     * @param cardCode The card's code
+     * @return
+     */
+    private static int rankOf(int cardCode)
+    {
+        return Math.min(cardCode / Card.CARD_SYMBOL_COUNT, RANK_COUNT - 1);
+    }
+
+    /**
+     * Calculate the dealer outcome chances
+     *
+     * @param shoe The unseen cards by rank, the dealer card is not included
+     * @param dealerRank The dealer card's rank
+     * @return Returns a new array of chances by outcome
+     */
+    public double[] calculate(int[] shoe, int dealerRank)
+    {
+        return calculate(shoe, dealerRank, new double[OUTCOME_COUNT]);
+    }
+
+    /**
+     * Calculate the dealer outcome chances into an array
+     *
+     * @param shoe The unseen cards by rank, the dealer card is not included
+     * @param dealerRank The dealer card's rank
+     * @param probabilities The array to fill with the chances by outcome
+     * @return Returns the filled array
+     */
+    public double[] calculate(int[] shoe, int dealerRank, double[] probabilities)
+    {
+        this.load(shoe);
+        long key = this._shoeHash ^ CompositionHash.key(RANK_COUNT, dealerRank);
+        double[] values = this._cache.getValues();
+        int offset = this._cache.find(key);
+        if (offset < 0)
+        {
+            this._handStamp++;
+            this._handCount = 0;
+            this._handKey = 0;
+            offset = this._cache.store(key);
+            Arrays.fill(values, offset, offset + OUTCOME_COUNT, 0);
+            this.dealerHand(dealerRank + 1, dealerRank == 0, 1, 1, values, offset);
+        }
+
+        System.arraycopy(values, offset, probabilities, 0, OUTCOME_COUNT);
+        return probabilities;
+    }
+
+    /**
+     * Calculate the dealer outcome chances when the dealer is known not to
+     * hold a blackjack, the blackjack chance is 0. A shoe that always gives
+     * the dealer a blackjack cannot be played without one, so every chance of
+     * such a shoe is 0
+     *
+     * @param shoe The unseen cards by rank, the dealer card is not included
+     * @param dealerRank The dealer card's rank
+     * @param probabilities The array to fill with the chances by outcome
+     * @return Returns the filled array
+     */
+    public double[] calculateNoBlackjack(int[] shoe, int dealerRank, double[] probabilities)
+    {
+        this.calculate(shoe, dealerRank, probabilities);
+        if (probabilities[BLACKJACK] >= 1)
+        {
+            Arrays.fill(probabilities, 0);
+            return probabilities;
+        }
+
+        double scale = 1 / (1 - probabilities[BLACKJACK]);
+        for (int outcome = 0; outcome < BLACKJACK; outcome++)
+        {
+            probabilities[outcome] *= scale;
+        }
+
+        probabilities[BLACKJACK] = 0;
+        return probabilities;
+    }
+
+    /**
+     * Adds the outcome chances of a dealer hand on the loaded shoe to the
+     * chances of its parent hand
+     *
+     * @param hardTotal The dealer's hard total
+     * @param hasAce If the dealer holds an ace
+     * @param cardCount The dealer's card count
+     * @param probability The chance of the hand from its parent
+     * @param target The parent's outcome chances
+     * @param targetOffset The offset of the parent's chances
+     */
+    private void dealerHand(int hardTotal, boolean hasAce, int cardCount, double probability, double[] target, int targetOffset)
+    {
+        int total = hasAce && hardTotal + 10 <= PlayerHand.MAX_HAND_VALUE ? hardTotal + 10 : hardTotal;
+        if (total > PlayerHand.MAX_HAND_VALUE)
+        {
+            target[targetOffset + BUST] += probability;
+            return;
+        }
+
+        if (total == PlayerHand.MAX_HAND_VALUE && cardCount == 2)
+        {
+            target[targetOffset + BLACKJACK] += probability;
+            return;
+        }
+
+        if (total > DEALER_STAND_VALUE || (total == DEALER_STAND_VALUE && !(total != hardTotal && this._hitsSoft17)))
+        {
+            target[targetOffset + outcomeOf(total)] += probability;
+            return;
+        }
+
+        double[] values = this._handValues;
+        int offset = this.findHand();
+        if (offset < 0)
+        {
+            values = this._levels[cardCount];
+            offset = 0;
+            Arrays.fill(values, 0);
+            int cardTotal = this._cardTotal;
+            for (int rank = 0; rank < RANK_COUNT; rank++)
+            {
+                int count = this._shoe[rank];
+                if (count == 0)
+                {
+                    continue;
+                }
+
+                this.draw(rank);
+                this.dealerHand(hardTotal + rank + 1, hasAce || rank == 0, cardCount + 1, (double) count / cardTotal, values, 0);
+                this.replace(rank);
+            }
+
+            this.storeHand(values);
+        }
+
+        for (int outcome = 0; outcome < OUTCOME_COUNT; outcome++)
+        {
+            target[targetOffset + outcome] += probability * values[offset + outcome];
+        }
+    }
+
+    /**
+     * Returns the offset of the current hand's chances in the hand table
+     *
+     * @return Returns -1 if the hand has not been worked out
+     */
+    private int findHand()
+    {
+        int mask = (1 << HAND_TABLE_BITS) - 1;
+        int slot = (int) (this._handKey * 0x9E3779B97F4A7C15L >>> (64 - HAND_TABLE_BITS));
+        while (this._handStamps[slot] == this._handStamp)
+        {
+            if (this._handKeys[slot] == this._handKey)
+            {
+                return slot * OUTCOME_COUNT;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Store the current hand's chances in the hand table
+     *
+     * @param probabilities The hand's outcome chances
+     */
+    private void storeHand(double[] probabilities)
+    {
+        if (this._handCount >= HAND_TABLE_LIMIT)
+        {
+            return;
+        }
+
+        int mask = (1 << HAND_TABLE_BITS) - 1;
+        int slot = (int) (this._handKey * 0x9E3779B97F4A7C15L >>> (64 - HAND_TABLE_BITS));
+        while (this._handStamps[slot] == this._handStamp)
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        this._handStamps[slot] = this._handStamp;
+        this._handKeys[slot] = this._handKey;
+        System.arraycopy(probabilities, 0, this._handValues, slot * OUTCOME_COUNT, OUTCOME_COUNT);
+        this._handCount++;
+    }
+
+    private void load(int[] shoe)
+    {
+        this._cardTotal = 0;
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            this._shoe[rank] = shoe[rank];
+            this._cardTotal += shoe[rank];
+        }
+
+        this._shoeHash = CompositionHash.of(this._shoe);
+    }
+
+    private void draw(int rank)
+    {
+        this._shoe[rank]--;
+        this._cardTotal--;
+        this._handKey += 1L << (rank * HAND_KEY_BITS);
+    }
+
+    private void replace(int rank)
+    {
+        this._shoe[rank]++;
+        this._cardTotal++;
+        this._handKey -= 1L << (rank * HAND_KEY_BITS);
+    }
+
+}
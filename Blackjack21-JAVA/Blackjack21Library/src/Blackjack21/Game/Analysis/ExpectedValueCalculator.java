@@ -0,0 +1,400 @@
+package Blackjack21.Game.Analysis;
+
+import Blackjack21.Game.Helper.CompositionHash;
+import Blackjack21.Game.Helper.TranspositionTable;
+import Blackjack21.Game.Logic.Player;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
+import Blackjack21.Game.Model.PlayerHandType;
+import Blackjack21.Game.Model.RuleSet;
+import java.util.Arrays;
+
+/**
+ * Calculates the exact expected value of each action of a player's hand from
+ * the hand's cards, the dealer card and the unseen cards. The value of
+ * standing only depends on the shoe and the hand total, and the value of
+ * hitting on the shoe and the hand's hard total and ace, so both are cached
+ * by the shoe's composition hash and reused by every hand that reaches the
+ * same shoe and total.
+ * <p>
+ * Values are in bets, with the dealer known not to hold a blackjack. A split
+ * is valued as two hands that each hold one of the split cards, played
+ * without further splits. Shoes are card counts by rank, from 0 for an ace to
+ * 9 for the ten value cards. The calculator is not thread safe, use one per
+ * thread
+ */
+public class ExpectedValueCalculator
+{
+
+    public static final int DEFAULT_CACHE_CAPACITY = 1 << 20;
+
+    private static final int RANK_COUNT = Card.CARD_RANK_COUNT;
+    private static final PlayerHandAction[] ACTIONS = PlayerHandAction.values();
+    // cache entries are told apart by value type and dealer card
+    private static final int STAND_VALUE = 0;
+    private static final int HIT_VALUE = 1;
+
+    private final RuleSet _rules;
+    private final DealerProbabilityCalculator _dealer;
+    private final double[] _dealerTotals;
+    private final TranspositionTable _cache;
+    private final int[] _shoe;
+    private int _cardTotal;
+    private long _shoeHash;
+    private int _dealerRank;
+
+    /**
+     * Initialize the calculator
+     *
+     * @param rules The table rules
+     */
+    public ExpectedValueCalculator(RuleSet rules)
+    {
+        this(rules, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Initialize the calculator
+     *
+     * @param rules The table rules
+     * @param cacheCapacity Number of hand values the cache holds
+     */
+    public ExpectedValueCalculator(RuleSet rules, int cacheCapacity)
+    {
+        this._rules = rules;
+        this._dealer = new DealerProbabilityCalculator(rules.getDealerHitsSoft17());
+        this._dealerTotals = new double[DealerProbabilityCalculator.OUTCOME_COUNT];
+        this._cache = new TranspositionTable(cacheCapacity, 1);
+        this._shoe = new int[RANK_COUNT];
+    }
+
+    /**
+     * Gets the table rules
+     *
+     * @return
+     */
+    public RuleSet getRules()
+    {
+        return this._rules;
+    }
+
+    /**
+     * Gets the number of cached hand values
+     *
+     * @return
+     */
+    public int getCacheSize()
+    {
+        return this._cache.getSize();
+    }
+
+    /**
+     * Clear the cached hand and dealer values
+     */
+    public void clearCache()
+    {
+        this._cache.clear();
+        this._dealer.clearCache();
+    }
+
+    /**
+     * Returns the action with the best value
+     *
+     * @param values The action values by action ordinal
+     * @return Returns NONE if no action is allowed
+     */
+    public static PlayerHandAction bestAction(double[] values)
+    {
+        PlayerHandAction best = PlayerHandAction.NONE;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (PlayerHandAction action : ACTIONS)
+        {
+            if (values[action.ordinal()] > bestValue)
+            {
+                best = action;
+                bestValue = values[action.ordinal()];
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Calculate the action values of a player's hand
+     *
+     * @param player The player
+     * @param splitHand Set to value the player's split hand
+     * @param dealerCard The dealer's face up card
+     * @param shoe The cards the player has not seen by rank
+     * @param values The array to fill with the values by action ordinal,
+     * actions that are not allowed are NaN
+     * @return Returns the filled array
+     */
+    public double[] evaluate(Player player, boolean splitHand, Card dealerCard, int[] shoe, double[] values)
+    {
+        PlayerHand hand = splitHand ? player.tryGetSplitHand() : player.getFirstHand();
+        if (hand == null)
+        {
+            throw new IllegalArgumentException("The player does not have a split hand");
+        }
+
+        int[] handCounts = new int[RANK_COUNT];
+        for (int index = 0; index < hand.getCardCount(); index++)
+        {
+            handCounts[Math.min(hand.getCardCode(index) / Card.CARD_SYMBOL_COUNT, RANK_COUNT - 1)]++;
+        }
+
+        boolean isSplit = player.getCurrentHandType() == PlayerHandType.SPLIT_HAND;
+        boolean canSplit = !isSplit && hand.getHasTwoPairs();
+        return evaluate(shoe, dealerCard.getCardValue() - 1, handCounts, isSplit, canSplit, values);
+    }
+
+    /**
+     * Calculate the action values of a hand
+     *
+     * @param shoe The cards the player has not seen by rank, without the hand
+     * and the dealer card
+     * @param dealerRank The dealer card's rank
+     * @param handCounts The hand's cards by rank
+     * @param splitHand Set if the hand is one of a split
+     * @param canSplit Set if the hand is a pair that can be split
+     * @param values The array to fill with the values by action ordinal,
+     * actions that are not allowed are NaN
+     * @return Returns the filled array
+     */
+    public double[] evaluate(int[] shoe, int dealerRank, int[] handCounts, boolean splitHand, boolean canSplit, double[] values)
+    {
+        this.load(shoe, dealerRank);
+        int hardTotal = 0;
+        int cardCount = 0;
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            hardTotal += handCounts[rank] * (rank + 1);
+            cardCount += handCounts[rank];
+        }
+
+        boolean hasAce = handCounts[0] > 0;
+        int total = bestTotal(hardTotal, hasAce);
+        boolean firstCards = cardCount == 2;
+
+        Arrays.fill(values, Double.NaN);
+        values[PlayerHandAction.STAND.ordinal()] = this.stand(total);
+        if (total >= PlayerHand.MAX_HAND_VALUE)
+        {
+            return values;
+        }
+
+        values[PlayerHandAction.HIT.ordinal()] = this.hit(hardTotal, hasAce);
+        if (firstCards && this._rules.getCanDouble(total) && (!splitHand || this._rules.getDoubleAfterSplit()))
+        {
+            values[PlayerHandAction.DOUBLE.ordinal()] = this.doubleDown(hardTotal, hasAce);
+        }
+
+        if (firstCards && !splitHand && this._rules.getCanFold())
+        {
+            values[PlayerHandAction.FOLD.ordinal()] = -0.5;
+        }
+
+        if (firstCards && canSplit)
+        {
+            values[PlayerHandAction.SPLIT.ordinal()] = 2 * this.splitHand(hardTotal / 2 - 1);
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns the value of one split hand, both split cards are out of the
+     * shoe
+     *
+     * @param rank The split card's rank
+     * @return
+     */
+    private double splitHand(int rank)
+    {
+        double value = 0;
+        int cardTotal = this._cardTotal;
+        for (int second = 0; second < RANK_COUNT; second++)
+        {
+            if (this._shoe[second] == 0)
+            {
+                continue;
+            }
+
+            double probability = (double) this._shoe[second] / cardTotal;
+            int hardTotal = rank + second + 2;
+            boolean hasAce = rank == 0 || second == 0;
+            int total = bestTotal(hardTotal, hasAce);
+
+            this.draw(second);
+            double best = this.stand(total);
+            if (total < PlayerHand.MAX_HAND_VALUE)
+            {
+                best = Math.max(best, this.hit(hardTotal, hasAce));
+                if (this._rules.getDoubleAfterSplit() && this._rules.getCanDouble(total))
+                {
+                    best = Math.max(best, this.doubleDown(hardTotal, hasAce));
+                }
+            }
+
+            this.replace(second);
+            value += probability * best;
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the value of standing on the loaded shoe
+     *
+     * @param total The hand's best total
+     * @return
+     */
+    private double stand(int total)
+    {
+        if (total > PlayerHand.MAX_HAND_VALUE)
+        {
+            return -1;
+        }
+
+        long key = this.cacheKey(STAND_VALUE, total);
+        int offset = this._cache.find(key);
+        if (offset >= 0)
+        {
+            return this._cache.getValues()[offset];
+        }
+
+        double[] dealerTotals = this._dealer.calculateNoBlackjack(this._shoe, this._dealerRank, this._dealerTotals);
+        double value = dealerTotals[DealerProbabilityCalculator.BUST];
+        for (int dealerTotal = DealerProbabilityCalculator.DEALER_STAND_VALUE; dealerTotal <= PlayerHand.MAX_HAND_VALUE; dealerTotal++)
+        {
+            double probability = dealerTotals[DealerProbabilityCalculator.outcomeOf(dealerTotal)];
+            value += total > dealerTotal ? probability : total < dealerTotal ? -probability : 0;
+        }
+
+        this.cache(key, value);
+        return value;
+    }
+
+    /**
+     * Returns the value of hitting and then playing the best of hitting and
+     * standing on the loaded shoe
+     *
+     * @param hardTotal The hand's hard total
+     * @param hasAce If the hand holds an ace
+     * @return
+     */
+    private double hit(int hardTotal, boolean hasAce)
+    {
+        long key = this.cacheKey(HIT_VALUE, hardTotal << 1 | (hasAce ? 1 : 0));
+        int offset = this._cache.find(key);
+        if (offset >= 0)
+        {
+            return this._cache.getValues()[offset];
+        }
+
+        double value = 0;
+        int cardTotal = this._cardTotal;
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            if (this._shoe[rank] == 0)
+            {
+                continue;
+            }
+
+            double probability = (double) this._shoe[rank] / cardTotal;
+            int nextHardTotal = hardTotal + rank + 1;
+            boolean nextHasAce = hasAce || rank == 0;
+            int total = bestTotal(nextHardTotal, nextHasAce);
+            if (total > PlayerHand.MAX_HAND_VALUE)
+            {
+                value -= probability;
+                continue;
+            }
+
+            this.draw(rank);
+            double best = this.stand(total);
+            if (total < PlayerHand.MAX_HAND_VALUE)
+            {
+                best = Math.max(best, this.hit(nextHardTotal, nextHasAce));
+            }
+
+            this.replace(rank);
+            value += probability * best;
+        }
+
+        this.cache(key, value);
+        return value;
+    }
+
+    /**
+     * Returns the value of doubling on the loaded shoe
+     *
+     * @param hardTotal The hand's hard total
+     * @param hasAce If the hand holds an ace
+     * @return
+     */
+    private double doubleDown(int hardTotal, boolean hasAce)
+    {
+        double value = 0;
+        int cardTotal = this._cardTotal;
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            if (this._shoe[rank] == 0)
+            {
+                continue;
+            }
+
+            double probability = (double) this._shoe[rank] / cardTotal;
+            this.draw(rank);
+            value += probability * 2 * this.stand(bestTotal(hardTotal + rank + 1, hasAce || rank == 0));
+            this.replace(rank);
+        }
+
+        return value;
+    }
+
+    private long cacheKey(int valueType, int handKey)
+    {
+        return this._shoeHash ^ CompositionHash.key(RANK_COUNT + valueType * RANK_COUNT + this._dealerRank, handKey);
+    }
+
+    private void cache(long key, double value)
+    {
+        this._cache.getValues()[this._cache.store(key)] = value;
+    }
+
+    private void load(int[] shoe, int dealerRank)
+    {
+        this._cardTotal = 0;
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            this._shoe[rank] = shoe[rank];
+            this._cardTotal += shoe[rank];
+        }
+
+        this._shoeHash = CompositionHash.of(this._shoe);
+        this._dealerRank = dealerRank;
+    }
+
+    private void draw(int rank)
+    {
+        int count = this._shoe[rank]--;
+        this._cardTotal--;
+        this._shoeHash = CompositionHash.update(this._shoeHash, rank, count, count - 1);
+    }
+
+    private void replace(int rank)
+    {
+        int count = this._shoe[rank]++;
+        this._cardTotal++;
+        this._shoeHash = CompositionHash.update(this._shoeHash, rank, count, count + 1);
+    }
+
+    private static int bestTotal(int hardTotal, boolean hasAce)
+    {
+        return hasAce && hardTotal + 10 <= PlayerHand.MAX_HAND_VALUE ? hardTotal + 10 : hardTotal;
+    }
+
+}
@@ -0,0 +1,233 @@
+package Blackjack21.Game.Analysis;
+
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
+import Blackjack21.Game.Model.RuleSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calculates the house edge of a rule set by enumerating every initial deal,
+ * the player's two cards and the dealer card, rather than by simulation.
+ * Each deal is weighted by its chance and valued with the player's best
+ * composition dependent play as the game plays it. The dealer checks for a
+ * blackjack before the players act, a player blackjack pays 3 to 2 and pushes
+ * a dealer blackjack, and the dealer stands on 17. A 5 card charlie is paid
+ * like any other win, as it only applies to hands that already beat the
+ * dealer. A pair splits when both cards have the same card type, so a pair of
+ * ten value cards only splits when the types match. Insurance is not taken.
+ * <p>
+ * The deals run as fork join tasks, each worker keeping one expected value
+ * calculator so its cache is shared by the deals it values. Split hands are
+ * valued as the expected value calculator values them
+ */
+public class HouseEdgeCalculator
+{
+
+    private static final int RANK_COUNT = Card.CARD_RANK_COUNT;
+    private static final int TEN_RANK = RANK_COUNT - 1;
+    // ten value card types, tens, jacks, queens and kings
+    private static final int TEN_TYPES = Card.CARD_TYPE_COUNT - TEN_RANK;
+    private static final double BLACKJACK_PAYOUT = 1.5;
+
+    private final RuleSet _rules;
+
+    /**
+     * Initialize the calculator
+     *
+     * @param rules The table rules
+     */
+    public HouseEdgeCalculator(RuleSet rules)
+    {
+        this._rules = rules;
+    }
+
+    /**
+     * Gets the table rules
+     *
+     * @return
+     */
+    public RuleSet getRules()
+    {
+        return this._rules;
+    }
+
+    /**
+     * Calculate the house edge on the common fork join pool
+     *
+     * @return Returns the house edge as a fraction of the initial bet
+     */
+    public double calculate()
+    {
+        return calculate(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculate the house edge
+     *
+     * @param pool The pool valuing the initial deals
+     * @return Returns the house edge as a fraction of the initial bet
+     */
+    public double calculate(ForkJoinPool pool)
+    {
+        ThreadLocal<ExpectedValueCalculator> calculators = ThreadLocal.withInitial(() -> new ExpectedValueCalculator(this._rules));
+        List<Deal> deals = new ArrayList<>();
+        for (int dealerRank = 0; dealerRank < RANK_COUNT; dealerRank++)
+        {
+            for (int first = 0; first < RANK_COUNT; first++)
+            {
+                for (int second = first; second < RANK_COUNT; second++)
+                {
+                    deals.add(new Deal(dealerRank, first, second, calculators));
+                }
+            }
+        }
+
+        return -pool.invoke(new RecursiveTask<Double>()
+        {
+            @Override
+            protected Double compute()
+            {
+                invokeAll(deals);
+                // summed in deal order so the result does not depend on the
+                // number of threads
+                double value = 0;
+                for (Deal deal : deals)
+                {
+                    value += deal.join();
+                }
+
+                return value;
+            }
+        });
+    }
+
+    /**
+     * Calculate and print the house edge of the game's rules
+     *
+     * @param args The deck count
+     */
+    public static void main(String[] args)
+    {
+        RuleSet rules = new RuleSet(args.length > 0 ? Integer.parseInt(args[0]) : 6);
+        long start = System.nanoTime();
+        double houseEdge = new HouseEdgeCalculator(rules).calculate();
+        System.out.printf("%s: house edge %.4f%% (%d ms)%n", rules, houseEdge * 100, (System.nanoTime() - start) / 1000000);
+    }
+
+    /**
+     * Returns a full shoe for the rules as card counts by rank
+     *
+     * @return
+     */
+    private int[] newShoe()
+    {
+        int[] shoe = new int[RANK_COUNT];
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            shoe[rank] = Card.CARD_SYMBOL_COUNT * this._rules.getDeckCount() * (rank == TEN_RANK ? TEN_TYPES : 1);
+        }
+
+        return shoe;
+    }
+
+    /**
+     * Values one initial deal weighted by its chance
+     */
+    @SuppressWarnings("serial")
+    private class Deal extends RecursiveTask<Double>
+    {
+
+        private final int _dealerRank;
+        private final int _first;
+        private final int _second;
+        private final ThreadLocal<ExpectedValueCalculator> _calculators;
+
+        Deal(int dealerRank, int first, int second, ThreadLocal<ExpectedValueCalculator> calculators)
+        {
+            this._dealerRank = dealerRank;
+            this._first = first;
+            this._second = second;
+            this._calculators = calculators;
+        }
+
+        @Override
+        protected Double compute()
+        {
+            int[] shoe = newShoe();
+            int cardTotal = Card.CARD_TYPE_COUNT * Card.CARD_SYMBOL_COUNT * _rules.getDeckCount();
+            double chance = (double) shoe[this._dealerRank]-- / cardTotal--;
+            chance *= (double) shoe[this._first]-- / cardTotal--;
+            chance *= (double) shoe[this._second]-- / cardTotal--;
+            if (this._first != this._second)
+            {
+                chance *= 2;
+            }
+
+            if (chance == 0)
+            {
+                return 0.0;
+            }
+
+            // chance of the dealer's hole card making a blackjack
+            double dealerBlackjack = 0;
+            if (this._dealerRank == 0)
+            {
+                dealerBlackjack = (double) shoe[TEN_RANK] / cardTotal;
+            }
+            else if (this._dealerRank == TEN_RANK)
+            {
+                dealerBlackjack = (double) shoe[0] / cardTotal;
+            }
+
+            if (this._first == 0 && this._second == TEN_RANK)
+            {
+                return chance * (1 - dealerBlackjack) * BLACKJACK_PAYOUT;
+            }
+
+            double played;
+            if (this._first == TEN_RANK && this._second == TEN_RANK)
+            {
+                // the second ten matches the first ten's type, a ten up
+                // card has the first ten's type with a chance of
+                // (t - 1) / (4t - 1) and then leaves one fewer of it
+                int typeCount = Card.CARD_SYMBOL_COUNT * _rules.getDeckCount();
+                double sameTypeLeft = typeCount - 1;
+                if (this._dealerRank == TEN_RANK)
+                {
+                    sameTypeLeft -= (double) (typeCount - 1) / (TEN_TYPES * typeCount - 1);
+                }
+
+                double sameType = sameTypeLeft / (shoe[TEN_RANK] + 1);
+                played = sameType * this.play(shoe, true) + (1 - sameType) * this.play(shoe, false);
+            }
+            else
+            {
+                played = this.play(shoe, this._first == this._second);
+            }
+
+            return chance * (-dealerBlackjack + (1 - dealerBlackjack) * played);
+        }
+
+        /**
+         * Returns the value of the hand's best action
+         *
+         * @param shoe The shoe without the dealer card and the hand
+         * @param canSplit Set if the hand can be split
+         * @return
+         */
+        private double play(int[] shoe, boolean canSplit)
+        {
+            int[] handCounts = new int[RANK_COUNT];
+            handCounts[this._first]++;
+            handCounts[this._second]++;
+            double[] values = new double[PlayerHandAction.values().length];
+            this._calculators.get().evaluate(shoe, this._dealerRank, handCounts, false, canSplit, values);
+            return values[ExpectedValueCalculator.bestAction(values).ordinal()];
+        }
+
+    }
+
+}
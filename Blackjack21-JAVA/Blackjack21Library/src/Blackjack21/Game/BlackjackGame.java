@@ -4,10 +4,34 @@ import Blackjack21.Game.Exceptions.DeckEmptyException;
 import Blackjack21.Game.Exceptions.PlayerExistsException;
 import Blackjack21.Game.Exceptions.PlayerHandNotSplitException;
 import Blackjack21.Game.Exceptions.PlayerNotFoundException;
+import Blackjack21.Game.Helper.ByteBufferAppendable;
+import Blackjack21.Game.Helper.EncodedText;
+import Blackjack21.Game.Helper.RandomSource;
+import Blackjack21.Game.Helper.SplittableRandomSource;
 import Blackjack21.Game.Logic.CardDeck;
+import Blackjack21.Game.Logic.PenetrationStatistics;
 import Blackjack21.Game.Logic.Player;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Logic.SeatRegistry;
+import Blackjack21.Game.Metrics.DealEvent;
+import Blackjack21.Game.Metrics.DealerDrawEvent;
+import Blackjack21.Game.Metrics.GameMonitor;
+import Blackjack21.Game.Metrics.PlayerTurnEvent;
+import Blackjack21.Game.Metrics.RecorderSupport;
+import Blackjack21.Game.Metrics.RoundLatencies;
+import Blackjack21.Game.Metrics.RoundPhase;
+import Blackjack21.Game.Metrics.RoundStartEvent;
+import Blackjack21.Game.Metrics.SettlementEvent;
+import Blackjack21.Game.Model.ActionStatus;
 import Blackjack21.Game.Model.Card;
-import java.util.ArrayList;
+import Blackjack21.Game.Model.PlayerHandAction;
+import Blackjack21.Game.Model.PlayerHandResult;
+import Blackjack21.Game.Model.ReshufflePolicy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A game class containing blackjack game logic
@@ -15,21 +39,220 @@ import java.util.ArrayList;
 public class BlackjackGame
 {
 
+    private static final AtomicLong LAST_TABLE_ID = new AtomicLong();
+    private static final EncodedText DEALER_DETAILS = new EncodedText("+ Dealer Details\n\n");
+    private static final EncodedText PLAYERS = new EncodedText("+ Players\n\n");
+
     private final Player _dealer;
-    private final ArrayList<Player> _players;
+    private final SeatRegistry _players;
     private final CardDeck _deck;
+    private final PenetrationStatistics _penetrationStatistics;
+    private ReshufflePolicy _reshufflePolicy;
+    private volatile GameMonitor _monitor;
+    // hand results of the round being settled, only used while monitored
+    private final int[] _roundResults;
+    private long _tableId;
+    // the turn of the player being timed, only set while recording
+    private PlayerTurnEvent _turnEvent;
+    // the phase histograms, null unless the table is timed
+    private volatile RoundLatencies _latencies;
+    private long _roundStartTime;
+    private long _turnStartTime;
     final int MIN_DECK_CARDS = 10;
     final int CARD_DEAL_MAX = 2;
     final int MINIMUM_DEALER_VALUE = 17;
 
     /**
-     * initialize the blackjack game
+     * initialize the blackjack game with an unseeded random source
      */
     public BlackjackGame()
+    {
+        this(new SplittableRandomSource());
+    }
+
+    /**
+     * initialize the blackjack game with a table seed, games with the same
+     * seed and the same actions deal the same cards
+     *
+     * @param seed The table's random seed
+     */
+    public BlackjackGame(long seed)
+    {
+        this(new SplittableRandomSource(seed));
+    }
+
+    /**
+     * initialize the blackjack game
+     *
+     * @param random The random source used to shuffle the table's deck
+     */
+    public BlackjackGame(RandomSource random)
     {
         this._dealer = new Player("Blackjack Dealer");
-        this._players = new ArrayList<>();
-        this._deck = new CardDeck();
+        this._players = new SeatRegistry();
+        this._deck = new CardDeck(random);
+        this._penetrationStatistics = new PenetrationStatistics();
+        this._reshufflePolicy = ReshufflePolicy.DEFAULT;
+        this._monitor = GameMonitor.DISABLED;
+        this._roundResults = new int[PlayerHandResult.values().length];
+        this.setTableId(LAST_TABLE_ID.incrementAndGet());
+    }
+
+    /**
+     * Gets the table's ID, recorded with the table's flight recorder events.
+     * Tables are numbered from 1 in the order they are created
+     *
+     * @return
+     */
+    public long getTableId()
+    {
+        return this._tableId;
+    }
+
+    /**
+     * Sets the table's ID, the deck's events are recorded with the same ID
+     *
+     * @param tableId The table's ID
+     */
+    public void setTableId(long tableId)
+    {
+        this._tableId = tableId;
+        this._deck.setTableId(tableId);
+    }
+
+    /**
+     * Gets the table's card deck
+     *
+     * @return
+     */
+    public CardDeck getDeck()
+    {
+        return this._deck;
+    }
+
+    /**
+     * Gets when the table shuffles its shoe
+     *
+     * @return
+     */
+    public ReshufflePolicy getReshufflePolicy()
+    {
+        return this._reshufflePolicy;
+    }
+
+    /**
+     * Sets when the table shuffles its shoe, the policy applies from the next
+     * round
+     *
+     * @param reshufflePolicy The reshuffle policy
+     */
+    public void setReshufflePolicy(ReshufflePolicy reshufflePolicy)
+    {
+        if (reshufflePolicy == null)
+        {
+            throw new IllegalArgumentException("The reshuffle policy cannot be null");
+        }
+
+        this._reshufflePolicy = reshufflePolicy;
+    }
+
+    /**
+     * Gets how deep the table's shoes were dealt
+     *
+     * @return
+     */
+    public PenetrationStatistics getPenetrationStatistics()
+    {
+        return this._penetrationStatistics;
+    }
+
+    /**
+     * Gets the monitor told about the table's events
+     *
+     * @return
+     */
+    public GameMonitor getMonitor()
+    {
+        return this._monitor;
+    }
+
+    /**
+     * Sets the monitor told about the table's events, the deck's events go to
+     * the same monitor
+     *
+     * @param monitor The monitor, GameMonitor.DISABLED to stop monitoring
+     */
+    public void setMonitor(GameMonitor monitor)
+    {
+        if (monitor == null)
+        {
+            throw new IllegalArgumentException("The monitor cannot be null, use GameMonitor.DISABLED");
+        }
+
+        this._monitor = monitor;
+        this._deck.setMonitor(monitor);
+    }
+
+    /**
+     * Gets the histograms the table's round phases are timed into
+     *
+     * @return Returns null if the table is not timed
+     */
+    public RoundLatencies getLatencies()
+    {
+        return this._latencies;
+    }
+
+    /**
+     * Sets the histograms the table's round phases are timed into, phases
+     * that are under way are not recorded
+     *
+     * @param latencies The histograms, null to stop timing the table
+     */
+    public void setLatencies(RoundLatencies latencies)
+    {
+        this._latencies = latencies;
+        this._roundStartTime = 0;
+        this._turnStartTime = 0;
+    }
+
+    /**
+     * Returns the start time of a phase
+     *
+     * @return Returns 0 if the table is not timed
+     */
+    private long startPhase()
+    {
+        return startPhase(this._latencies);
+    }
+
+    private static long startPhase(RoundLatencies latencies)
+    {
+        return latencies == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Record the time of a phase that was started while the table was timed
+     *
+     * @param phase The round phase
+     * @param startTime The start time returned by startPhase
+     * @return Returns the end time, 0 if the phase was not recorded
+     */
+    private long finishPhase(RoundPhase phase, long startTime)
+    {
+        return finishPhase(this._latencies, phase, startTime);
+    }
+
+    private static long finishPhase(RoundLatencies latencies, RoundPhase phase, long startTime)
+    {
+        if (latencies == null || startTime == 0)
+        {
+            return 0;
+        }
+
+        long endTime = System.nanoTime();
+        latencies.record(phase, endTime - startTime);
+        return endTime;
     }
 
     /**
@@ -44,43 +267,85 @@ public class BlackjackGame
 
     /**
      * Start a new round of blackjack, throws an exception if a deck has not
-     * been initialized
+     * been initialized. The shoe is shuffled when few cards are left or the
+     * reshuffle policy's cut card has come out
      */
     public void newGame()
     {
+        RoundStartEvent event = RecorderSupport.AVAILABLE ? RoundStartEvent.start() : null;
+        this._roundStartTime = this.startPhase();
         this._dealer.clearHands();
-        for (Player player : this._players)
+        Player[] seats = this._players.getSeats();
+        for (int x = 0; x < this._players.getSeatCount(); x++)
         {
-            player.clearHands();
+            if (seats[x] != null)
+            {
+                seats[x].clearHands();
+            }
         }
-        if (this._deck.getCardCount() <= MIN_DECK_CARDS)
+        boolean shuffled = this._deck.getCardCount() <= MIN_DECK_CARDS
+                || this._reshufflePolicy.getIsCutCardReached(this._deck.getCardsDealt(), this._deck.getShoeSize());
+        if (shuffled)
         {
-            this._deck.shuffleDeck();
+            this.shuffleShoe();
         }
 
+        this._deck.markRoundStart();
+        this._monitor.roundStarted();
+        if (event != null)
+        {
+            event.finish(this._tableId, this.getPlayerCount(), shuffled, this._deck.getCardCount());
+        }
     }
 
     /**
-     * Find the player's index in the array and return -1 if the player was not
-     * found
+     * Shuffle all cards into a new shoe and burn the policy's burn cards
+     */
+    public void shuffleShoe()
+    {
+        long startTime = this.startPhase();
+        this._penetrationStatistics.recordShoe(this._deck.getCardsDealt(), this._deck.getShoeSize(), false);
+        this._deck.shuffleDeck();
+        this._penetrationStatistics.recordBurn(this._deck.burnCards(this._reshufflePolicy.getBurnCards()));
+        this.finishPhase(RoundPhase.SHUFFLE, startTime);
+    }
+
+    /**
+     * Shuffle the discards into a new shoe when the policy allows it, the
+     * cards of the current round stay in play
      *
-     * @param playerName The player's name to search
-     * @return Return the player's index
+     * @return Returns false if the shoe was not reshuffled
      */
-    private int findPlayerIndex(String playerName)
+    private boolean reshuffleMidRound()
     {
-        int index = -1;
-        for (int x = 0; x < this._players.size(); x++)
+        if (!this._reshufflePolicy.getReshuffleMidRound())
         {
-            Player player = this._players.get(x);
+            return false;
+        }
 
-            if (player.getPlayerName().equals(playerName))
-            {
-                index = x;
-                break;
-            }
+        long startTime = this.startPhase();
+        int cardsDealt = this._deck.getCardsDealt();
+        int shoeSize = this._deck.getShoeSize();
+        if (!this._deck.reshuffleDiscards())
+        {
+            return false;
         }
-        return index;
+
+        this._penetrationStatistics.recordShoe(cardsDealt, shoeSize, true);
+        this._penetrationStatistics.recordBurn(this._deck.burnCards(this._reshufflePolicy.getBurnCards()));
+        this.finishPhase(RoundPhase.SHUFFLE, startTime);
+        return true;
+    }
+
+    /**
+     * Find the player's seat index and return -1 if the player was not found
+     *
+     * @param playerName The player's name to search
+     * @return Return the player's index
+     */
+    private int findPlayerIndex(String playerName)
+    {
+        return this._players.findSeat(playerName);
     }
 
     /**
@@ -90,15 +355,59 @@ public class BlackjackGame
      */
     public void dealCards() throws DeckEmptyException
     {
+        DealEvent event = RecorderSupport.AVAILABLE ? DealEvent.start() : null;
+        long startTime = this.startPhase();
+        Player[] seats = this._players.getSeats();
         for (int cardsToDeal = 0; cardsToDeal < CARD_DEAL_MAX; cardsToDeal++)
         {
-            for (Player player : this._players)
+            for (int x = 0; x < this._players.getSeatCount(); x++)
             {
-                player.addFirstHandCard(this.hitCard());
+                if (seats[x] != null)
+                {
+                    seats[x].addFirstHandCard(this.hitCard());
+                }
             }
             this._dealer.addFirstHandCard(this.hitCard());
         }
         this._dealer.getFirstHand().setDealerResult();
+        this._monitor.cardsDealt(this._dealer.getFirstHand().getIsBlackjack());
+        this.finishPhase(RoundPhase.DEAL, startTime);
+        if (event != null)
+        {
+            event.finish(this._tableId, this.getPlayerCount(), this._dealer.getFirstHand().getIsBlackjack());
+        }
+    }
+
+    /**
+     * Mark the start of a player's decisions, the turn is recorded when it is
+     * finished
+     *
+     * @param player The player about to act
+     */
+    public void startPlayerTurn(Player player)
+    {
+        this._turnEvent = RecorderSupport.AVAILABLE ? PlayerTurnEvent.start() : null;
+        this._turnStartTime = this.startPhase();
+    }
+
+    /**
+     * Mark the end of a player's decisions, a turn that is never finished,
+     * such as one cut short by an empty deck, is not recorded
+     *
+     * @param player The player who finished acting
+     */
+    public void finishPlayerTurn(Player player)
+    {
+        this.finishPhase(RoundPhase.PLAYER_DECISIONS, this._turnStartTime);
+        this._turnStartTime = 0;
+        PlayerTurnEvent event = this._turnEvent;
+        if (event != null)
+        {
+            this._turnEvent = null;
+            PlayerHand splitHand = player.tryGetSplitHand();
+            int cardCount = player.getFirstHand().getCardCount() + (splitHand == null ? 0 : splitHand.getCardCount());
+            event.finish(this._tableId, player.getPlayerName(), splitHand == null ? 1 : 2, cardCount);
+        }
     }
 
     /**
@@ -109,18 +418,132 @@ public class BlackjackGame
      */
     public Card hitCard() throws DeckEmptyException
     {
+        if (this._deck.getCardCount() == 0)
+        {
+            this.reshuffleMidRound();
+        }
+
         return this._deck.hitCard();
     }
 
+    /**
+     * Returns the top most card from the deck, returns null if the deck is
+     * empty
+     *
+     * @return Return the top removed card
+     */
+    public Card tryHitCard()
+    {
+        if (this._deck.getCardCount() == 0)
+        {
+            this.reshuffleMidRound();
+        }
+
+        return this._deck.tryHitCard();
+    }
+
+    /**
+     * Perform a hand action for a player without throwing exceptions. A hit or
+     * double draws the card from the deck, a split also deals one new card to
+     * each hand
+     *
+     * @param player The player performing the action
+     * @param action The hand action
+     * @param splitHand Set to perform the action on the player's split hand
+     * @return Returns the status of the action
+     */
+    public ActionStatus tryAct(Player player, PlayerHandAction action, boolean splitHand)
+    {
+        PlayerHand hand;
+        if (splitHand)
+        {
+            hand = player.tryGetSplitHand();
+            if (hand == null)
+            {
+                return ActionStatus.HAND_NOT_SPLIT;
+            }
+
+            if (!player.canActSplitHand(action))
+            {
+                return ActionStatus.NOT_ALLOWED;
+            }
+        }
+        else
+        {
+            hand = player.getFirstHand();
+            if (!player.canAct(action))
+            {
+                return ActionStatus.NOT_ALLOWED;
+            }
+        }
+
+        switch (action)
+        {
+            case FOLD:
+                hand.fold();
+                return ActionStatus.OK;
+            case STAND:
+                hand.stand();
+                return ActionStatus.OK;
+            case SPLIT:
+                // two cards are needed before the hand is split
+                if (this._deck.getCardCount() < 2 && !(this.reshuffleMidRound() && this._deck.getCardCount() >= 2))
+                {
+                    return ActionStatus.DECK_EMPTY;
+                }
+
+                return player.trySplitHandCards(this._deck.tryHitCard(), this._deck.tryHitCard()) ? ActionStatus.OK : ActionStatus.NOT_ALLOWED;
+            default:
+                Card card = this.tryHitCard();
+                if (card == null)
+                {
+                    return ActionStatus.DECK_EMPTY;
+                }
+
+                if (action == PlayerHandAction.DOUBLE)
+                {
+                    hand.doubleHandCard(card);
+                }
+                else
+                {
+                    hand.addCard(card);
+                }
+
+                return ActionStatus.OK;
+        }
+    }
+
+    /**
+     * Add a card to a player's hand without throwing exceptions
+     *
+     * @param player The player to hit
+     * @param splitHand Set to hit the player's split hand
+     * @return Returns the status of the action
+     */
+    public ActionStatus tryHit(Player player, boolean splitHand)
+    {
+        return tryAct(player, PlayerHandAction.HIT, splitHand);
+    }
+
     /**
      * Add cards to the dealer's hand, if the dealer's hand value is under 17
      */
     public void dealerHit() throws DeckEmptyException
     {
-
+        DealerDrawEvent event = RecorderSupport.AVAILABLE ? DealerDrawEvent.start() : null;
+        long startTime = this.startPhase();
+        int cardsDrawn = 0;
         while (this._dealer.getFirstHandValue() < MINIMUM_DEALER_VALUE)
         {
             this.addDealerCard(this.hitCard());
+            cardsDrawn++;
+        }
+
+        this._monitor.dealerFinished(this._dealer.getFirstHandValue());
+        this.finishPhase(RoundPhase.DEALER_HIT, startTime);
+        if (event != null)
+        {
+            event.finish(this._tableId, cardsDrawn, this._dealer.getFirstHandValue());
         }
     }
 
@@ -129,9 +552,10 @@ public class BlackjackGame
      * name already exists
      *
      * @param playerName The new players name
+     * @return Returns the player's ID
      * @throws Blackjack21.Game.Exceptions.PlayerExistsException
      */
-    public void addPlayer(String playerName) throws PlayerExistsException
+    public long addPlayer(String playerName) throws PlayerExistsException
     {
         // look for the player name in the list
         int index = this.findPlayerIndex(playerName);
@@ -140,7 +564,63 @@ public class BlackjackGame
             throw new PlayerExistsException(playerName);
         }
 
-        this._players.add(new Player(playerName));
+        return this._players.seat(new Player(playerName));
+    }
+
+    /**
+     * Add a new player to an empty seat, used to seat a player in the place of
+     * a player that has left. Throws an exception if the player name already
+     * exists
+     *
+     * @param playerName The new players name
+     * @param seat The seat index, the seat must be empty
+     * @return Returns the player's ID
+     * @throws Blackjack21.Game.Exceptions.PlayerExistsException
+     */
+    public long addPlayer(String playerName, int seat) throws PlayerExistsException
+    {
+        if (this.findPlayerIndex(playerName) != -1)
+        {
+            throw new PlayerExistsException(playerName);
+        }
+
+        return this._players.seat(new Player(playerName), seat);
+    }
+
+    /**
+     * Remove a player from the table, the other players keep their seats.
+     * Throws an exception if the player is not found
+     *
+     * @param playerName The player's name
+     * @throws Blackjack21.Game.Exceptions.PlayerNotFoundException
+     */
+    public void removePlayer(String playerName) throws PlayerNotFoundException
+    {
+        if (this._players.remove(playerName) == null)
+        {
+            throw new PlayerNotFoundException(playerName);
+        }
+    }
+
+    /**
+     * Returns the number of players at the table
+     *
+     * @return
+     */
+    public int getPlayerCount()
+    {
+        return this._players.getPlayerCount();
+    }
+
+    /**
+     * Returns the number of seats up to the last taken seat, seats in this
+     * range can be empty
+     *
+     * @return
+     */
+    public int getSeatCount()
+    {
+        return this._players.getSeatCount();
     }
 
     /**
@@ -207,8 +687,7 @@ public class BlackjackGame
      */
     public void addPlayerCard(String playerName, Card card) throws PlayerNotFoundException
     {
-        int index = findPlayerIndex(playerName);
-        addPlayerCard(index, card);
+        this.getGamePlayer(playerName).addFirstHandCard(card);
     }
 
     /**
@@ -221,8 +700,7 @@ public class BlackjackGame
      */
     public void addPlayerCards(String playerName, Card[] cards) throws PlayerNotFoundException
     {
-        int index = findPlayerIndex(playerName);
-        addPlayerCards(index, cards);
+        this.getGamePlayer(playerName).addFirstHandCards(cards);
     }
 
     public Player getDealer()
@@ -232,7 +710,7 @@ public class BlackjackGame
 
     /**
      * Get the player using the index number, throws a player not found
-     * exception if the player index is not correct
+     * exception if the player index is not correct or the seat is empty
      *
      * @param index Player's++ index number
      * @return Return the player object
@@ -240,14 +718,51 @@ public class BlackjackGame
      */
     public Player getGamePlayer(int index) throws PlayerNotFoundException
     {
-        if (this._players.size() > index && index >= 0)
+        Player player = this._players.get(index);
+        if (player != null)
         {
-            return this._players.get(index);
+            return player;
         }
 
         throw new PlayerNotFoundException(index);
     }
 
+    /**
+     * Get the player using their player ID, returns null if the player is no
+     * longer at the table
+     *
+     * @param playerId The player ID returned by addPlayer
+     * @return Return the player object
+     */
+    public Player tryGetGamePlayerById(long playerId)
+    {
+        return this._players.getById(playerId);
+    }
+
+    /**
+     * Get the player using the index number, returns null if the player index
+     * is not correct
+     *
+     * @param index Player's index number
+     * @return Return the player object
+     */
+    public Player tryGetGamePlayer(int index)
+    {
+        return this._players.get(index);
+    }
+
+    /**
+     * Return the player object using the player's name, returns null if the
+     * player is not found
+     *
+     * @param playerName The player name to search
+     * @return Returns the player object
+     */
+    public Player tryGetGamePlayer(String playerName)
+    {
+        return tryGetGamePlayer(findPlayerIndex(playerName));
+    }
+
     /**
      * Return the player object using the player's name, throws an exception if
      * the player is not found
@@ -258,10 +773,10 @@ public class BlackjackGame
      */
     public Player getGamePlayer(String playerName) throws PlayerNotFoundException
     {
-        int index = findPlayerIndex(playerName);
-        if (index != -1)
+        Player player = tryGetGamePlayer(playerName);
+        if (player != null)
         {
-            return this.getGamePlayer(index);
+            return player;
         }
 
         throw new PlayerNotFoundException(playerName);
@@ -274,10 +789,118 @@ public class BlackjackGame
      */
     public void concludeRound() throws PlayerHandNotSplitException
     {
-        this._dealer.getFirstHand().setDealerResult();
-        for (Player player : _players)
+        concludeRound(null);
+    }
+
+    /**
+     * Complete the current round of blackjack, settling every player's hands
+     * against the dealer's hand in one pass
+     *
+     * @param resultCounts Counts indexed by PlayerHandResult ordinal which are
+     * increased for each settled hand, can be null
+     * @return Returns the payout of all player hands in half bet units
+     */
+    public int concludeRound(int[] resultCounts)
+    {
+        SettlementEvent event = RecorderSupport.AVAILABLE ? SettlementEvent.start() : null;
+        // both can be replaced from another thread, the round settles with
+        // the ones it started with
+        RoundLatencies latencies = this._latencies;
+        GameMonitor monitor = this._monitor;
+        long startTime = startPhase(latencies);
+        PlayerHand dealerHand = this._dealer.getFirstHand();
+        dealerHand.setDealerResult();
+        boolean monitored = monitor != GameMonitor.DISABLED;
+        int[] counts = resultCounts;
+        if (monitored)
+        {
+            counts = this._roundResults;
+            Arrays.fill(counts, 0);
+        }
+
+        int payout = 0;
+        int handCount = 0;
+        Player[] seats = this._players.getSeats();
+        for (int x = 0; x < this._players.getSeatCount(); x++)
         {
-            player.setHandResult(this._dealer);
+            if (seats[x] != null)
+            {
+                payout += seats[x].settleHands(dealerHand, counts);
+                handCount += seats[x].tryGetSplitHand() == null ? 1 : 2;
+            }
+        }
+
+        if (monitored)
+        {
+            monitor.roundConcluded(counts, payout);
+            if (resultCounts != null)
+            {
+                for (int result = 0; result < counts.length; result++)
+                {
+                    resultCounts[result] += counts[result];
+                }
+            }
+        }
+
+        // the round ends with its settlement
+        long endTime = finishPhase(latencies, RoundPhase.SETTLEMENT, startTime);
+        if (endTime != 0 && this._roundStartTime != 0)
+        {
+            latencies.record(RoundPhase.ROUND, endTime - this._roundStartTime);
+        }
+
+        this._roundStartTime = 0;
+        if (event != null)
+        {
+            event.finish(this._tableId, handCount, payout);
+        }
+
+        return payout;
+    }
+
+    /**
+     * Append the dealer's and the players' state, the rendering is timed as
+     * the RENDER phase
+     *
+     * @param out The appendable to write to
+     * @return Returns the appendable
+     * @throws IOException
+     */
+    public Appendable appendTo(Appendable out) throws IOException
+    {
+        long startTime = this.startPhase();
+        DEALER_DETAILS.appendTo(out);
+        this._dealer.appendTo(out);
+        PLAYERS.appendTo(out);
+        Player[] seats = this._players.getSeats();
+        for (int x = 0; x < this._players.getSeatCount(); x++)
+        {
+            if (seats[x] != null)
+            {
+                seats[x].appendTo(out);
+            }
+        }
+        this.finishPhase(RoundPhase.RENDER, startTime);
+        return out;
+    }
+
+    /**
+     * Write the dealer's and the players' state into a buffer as UTF-8
+     *
+     * @param buffer The buffer to write to from its position
+     * @return Returns the buffer
+     * @throws java.nio.BufferOverflowException if the state does not fit
+     */
+    public ByteBuffer appendTo(ByteBuffer buffer)
+    {
+        try
+        {
+            this.appendTo(new ByteBufferAppendable(buffer));
+            return buffer;
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
         }
     }
 
@@ -288,16 +911,14 @@ public class BlackjackGame
     @Override
     public String toString()
     {
-
-        String result = "+ Dealer Details\n\n";
-        result += this._dealer.toString();
-        result += "+ Players\n\n";
-        for (Player player : this._players)
+        try
         {
-            result += player.toString();
+            return this.appendTo(new StringBuilder()).toString();
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
         }
-        return result;
-
     }
 
 }
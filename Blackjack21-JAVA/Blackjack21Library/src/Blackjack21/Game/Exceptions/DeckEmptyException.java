@@ -8,12 +8,12 @@ public class DeckEmptyException extends Exception
 
     public DeckEmptyException()
     {
-        super("There are no cards in the deck");
+        super("There are no cards in the deck", null, false, false);
     }
 
     public DeckEmptyException(String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
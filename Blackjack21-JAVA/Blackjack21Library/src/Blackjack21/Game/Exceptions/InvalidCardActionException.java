@@ -8,7 +8,7 @@ public class InvalidCardActionException extends Exception
 
     public InvalidCardActionException(String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -8,12 +8,12 @@ public class InvalidHandSplitException extends Exception
 
     public InvalidHandSplitException()
     {
-        super("Invalid hand split, conditions to split the hand have not been met");
+        super("Invalid hand split, conditions to split the hand have not been met", null, false, false);
     }
 
     public InvalidHandSplitException(String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -8,12 +8,12 @@ public class PlayerHandNotSplitException extends Exception
 
     public PlayerHandNotSplitException()
     {
-        super("The player's hand is not split");
+        super("The player's hand is not split", null, false, false);
     }
 
     public PlayerHandNotSplitException(String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -8,12 +8,12 @@ public class PlayerNotFoundException extends Exception
 
     public PlayerNotFoundException(int index)
     {
-        super("Index " + index + " is not a valid player entry");
+        super("Index " + index + " is not a valid player entry", null, false, false);
     }
 
     public PlayerNotFoundException(String playerName)
     {
-        super("Player " + playerName + " not found");
+        super("Player " + playerName + " not found", null, false, false);
     }
 
 }
@@ -0,0 +1,23 @@
+package Blackjack21.Game.Exceptions;
+
+import java.io.IOException;
+
+/**
+ * Throws an invalid strategy table exception
+ */
+public class StrategyFormatException extends IOException
+{
+
+    private static final long serialVersionUID = 1L;
+
+    public StrategyFormatException(String message)
+    {
+        super(message);
+    }
+
+    public StrategyFormatException(int lineNumber, String message)
+    {
+        super("Line " + lineNumber + ": " + message);
+    }
+
+}
@@ -0,0 +1,48 @@
+package Blackjack21.Game.Helper;
+
+import java.io.IOException;
+
+/**
+ * Helpers for rendering into an Appendable without building strings
+ */
+public final class Appendables
+{
+
+    private Appendables()
+    {
+    }
+
+    /**
+     * Append the decimal digits of a number
+     *
+     * @param out The appendable to write to
+     * @param value The number
+     * @throws IOException
+     */
+    public static void appendInt(Appendable out, int value) throws IOException
+    {
+        if (value < 0)
+        {
+            out.append('-');
+            if (value == Integer.MIN_VALUE)
+            {
+                out.append("2147483648");
+                return;
+            }
+
+            value = -value;
+        }
+
+        int divisor = 1;
+        while (value / divisor >= 10)
+        {
+            divisor *= 10;
+        }
+
+        for (; divisor > 0; divisor /= 10)
+        {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+}
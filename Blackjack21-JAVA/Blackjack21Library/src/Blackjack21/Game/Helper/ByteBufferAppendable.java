@@ -0,0 +1,135 @@
+package Blackjack21.Game.Helper;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Appends text to a byte buffer as UTF-8, so table state can be rendered
+ * straight into a network or file buffer without building a string first.
+ * Text that is already encoded, see EncodedText, is copied in with one bulk
+ * put. A full buffer throws a BufferOverflowException, the text written before
+ * it stays in the buffer
+ */
+public class ByteBufferAppendable implements Appendable
+{
+
+    private final ByteBuffer _buffer;
+
+    /**
+     * Initialize the appendable
+     *
+     * @param buffer The buffer to write to from its position
+     */
+    public ByteBufferAppendable(ByteBuffer buffer)
+    {
+        this._buffer = buffer;
+    }
+
+    /**
+     * Gets the buffer written to
+     *
+     * @return
+     */
+    public ByteBuffer getBuffer()
+    {
+        return this._buffer;
+    }
+
+    /**
+     * Append text that is already encoded as UTF-8
+     *
+     * @param text The encoded text
+     * @return
+     */
+    public ByteBufferAppendable appendEncoded(byte[] text)
+    {
+        this._buffer.put(text);
+        return this;
+    }
+
+    @Override
+    public ByteBufferAppendable append(CharSequence csq)
+    {
+        return csq == null ? this.append("null") : this.append(csq, 0, csq.length());
+    }
+
+    @Override
+    public ByteBufferAppendable append(CharSequence csq, int start, int end)
+    {
+        if (csq == null)
+        {
+            return this.append("null", start, end);
+        }
+
+        for (int index = start; index < end; index++)
+        {
+            char c = csq.charAt(index);
+            if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(csq.charAt(index + 1)))
+            {
+                this.putCodePoint(Character.toCodePoint(c, csq.charAt(++index)));
+            }
+            else
+            {
+                this.putChar(c);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public ByteBufferAppendable append(char c)
+    {
+        this.putChar(c);
+        return this;
+    }
+
+    /**
+     * Put a character that is not part of a surrogate pair, a lone surrogate
+     * is written as a question mark as String.getBytes does
+     *
+     * @param c The character
+     */
+    private void putChar(char c)
+    {
+        if (c < 0x80)
+        {
+            this._buffer.put((byte) c);
+        }
+        else if (Character.isSurrogate(c))
+        {
+            this._buffer.put((byte) '?');
+        }
+        else
+        {
+            this.putCodePoint(c);
+        }
+    }
+
+    private void putCodePoint(int codePoint)
+    {
+        ByteBuffer buffer = this._buffer;
+        if (codePoint < 0x80)
+        {
+            buffer.put((byte) codePoint);
+        }
+        else if (codePoint < 0x800)
+        {
+            buffer.put((byte) (0xC0 | codePoint >> 6));
+            buffer.put((byte) (0x80 | codePoint & 0x3F));
+        }
+        else if (codePoint < 0x10000)
+        {
+            buffer.put((byte) (0xE0 | codePoint >> 12));
+            buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | codePoint & 0x3F));
+        }
+        else
+        {
+            buffer.put((byte) (0xF0 | codePoint >> 18));
+            buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+            buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | codePoint & 0x3F));
+        }
+    }
+
+}
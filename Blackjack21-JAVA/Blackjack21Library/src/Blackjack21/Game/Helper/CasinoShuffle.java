@@ -0,0 +1,148 @@
+package Blackjack21.Game.Helper;
+
+/**
+ * Emulates a dealer's hand shuffle, the cards are riffled twice, strip cut,
+ * riffled again and then cut
+ */
+public class CasinoShuffle implements ShuffleStrategy
+{
+
+    private final RandomSource _random;
+    // Holds the two halves of a riffle, reused between shuffles
+    private byte[] _scratch;
+
+    /**
+     * Initialize the shuffle with an unseeded random source
+     */
+    public CasinoShuffle()
+    {
+        this(new SplittableRandomSource());
+    }
+
+    /**
+     * Initialize the shuffle
+     *
+     * @param random The random source used to shuffle
+     */
+    public CasinoShuffle(RandomSource random)
+    {
+        this._random = random;
+        this._scratch = new byte[0];
+    }
+
+    @Override
+    public void shuffle(byte[] cards, int from, int to)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        riffle(cards, from, to);
+        riffle(cards, from, to);
+        strip(cards, from, to);
+        riffle(cards, from, to);
+        cut(cards, from, to);
+    }
+
+    /**
+     * Split the cards near the middle and drop them back together one at a
+     * time, the chance of the next item coming from a half is proportional to
+     * the size of what is left in that half
+     *
+     * @param cards Card codes to shuffle
+     * @param from First index of the range
+     * @param to Index after the last item of the range
+     */
+    private void riffle(byte[] cards, int from, int to)
+    {
+        int count = to - from;
+        if (this._scratch.length < count)
+        {
+            this._scratch = new byte[count];
+        }
+
+        System.arraycopy(cards, from, this._scratch, 0, count);
+        int left = 0;
+        int leftEnd = splitPoint(count);
+        int right = leftEnd;
+        for (int x = from; x < to; x++)
+        {
+            int leftRemaining = leftEnd - left;
+            int rightRemaining = count - right;
+            if (this._random.nextInt(leftRemaining + rightRemaining) < leftRemaining)
+            {
+                cards[x] = this._scratch[left++];
+            }
+            else
+            {
+                cards[x] = this._scratch[right++];
+            }
+        }
+    }
+
+    /**
+     * Pull small packets off the top and stack them on a new pile, which
+     * reverses the order of the packets but not the cards within them
+     *
+     * @param cards Card codes to shuffle
+     * @param from First index of the range
+     * @param to Index after the last item of the range
+     */
+    private void strip(byte[] cards, int from, int to)
+    {
+        reverse(cards, from, to);
+        int packetStart = from;
+        while (packetStart < to)
+        {
+            int packetEnd = Math.min(to, packetStart + 1 + this._random.nextInt(8));
+            reverse(cards, packetStart, packetEnd);
+            packetStart = packetEnd;
+        }
+    }
+
+    /**
+     * Cut the cards near the middle and place the bottom part on top
+     *
+     * @param cards Card codes to shuffle
+     * @param from First index of the range
+     * @param to Index after the last item of the range
+     */
+    private void cut(byte[] cards, int from, int to)
+    {
+        int cutIndex = from + splitPoint(to - from);
+        reverse(cards, from, cutIndex);
+        reverse(cards, cutIndex, to);
+        reverse(cards, from, to);
+    }
+
+    /**
+     * Select a split point within an eighth of the middle
+     *
+     * @param count Number of cards being split
+     * @return Returns the size of the first part
+     */
+    private int splitPoint(int count)
+    {
+        int spread = Math.max(1, count / 8);
+        return count / 2 - spread / 2 + this._random.nextInt(spread);
+    }
+
+    /**
+     * Reverse the order of a range of cards
+     *
+     * @param cards Card codes to reverse
+     * @param from First index of the range
+     * @param to Index after the last item of the range
+     */
+    private static void reverse(byte[] cards, int from, int to)
+    {
+        for (int i = from, j = to - 1; i < j; i++, j--)
+        {
+            byte tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package Blackjack21.Game.Helper;
+
+/**
+ * Zobrist style hashing of shoe compositions. Every rank and count pair has
+ * its own 64 bit key and a composition hashes to the XOR of the keys of its
+ * rank counts, so drawing or returning a card updates the hash with two XORs
+ */
+public final class CompositionHash
+{
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private CompositionHash()
+    {
+    }
+
+    /**
+     * Returns the key of a rank holding a number of cards
+     *
+     * @param rank The card rank
+     * @param count Number of cards of the rank
+     * @return
+     */
+    public static long key(int rank, int count)
+    {
+        // splitmix64 finalizer over the rank and count
+        long z = ((long) rank << 32 | count) * GOLDEN_GAMMA + GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the hash of a composition
+     *
+     * @param counts Number of cards of each rank
+     * @return
+     */
+    public static long of(int[] counts)
+    {
+        long hash = 0;
+        for (int rank = 0; rank < counts.length; rank++)
+        {
+            hash ^= key(rank, counts[rank]);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Returns the hash of a composition after a rank's count changes
+     *
+     * @param hash The composition's hash
+     * @param rank The card rank
+     * @param oldCount The rank's count before the change
+     * @param newCount The rank's count after the change
+     * @return
+     */
+    public static long update(long hash, int rank, int oldCount, int newCount)
+    {
+        return hash ^ key(rank, oldCount) ^ key(rank, newCount);
+    }
+
+}
@@ -0,0 +1,67 @@
+package Blackjack21.Game.Helper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Text that is rendered often, kept with its UTF-8 bytes so a byte buffer
+ * gets a bulk copy of the bytes and any other appendable gets the string
+ */
+public final class EncodedText
+{
+
+    private final String _text;
+    private final byte[] _bytes;
+
+    /**
+     * Initialize the text and encode it
+     *
+     * @param text The text
+     */
+    public EncodedText(String text)
+    {
+        this._text = text;
+        this._bytes = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the encoded names of an enum's constants by ordinal
+     *
+     * @param values The enum's constants
+     * @return
+     */
+    public static EncodedText[] names(Enum<?>[] values)
+    {
+        EncodedText[] names = new EncodedText[values.length];
+        for (Enum<?> value : values)
+        {
+            names[value.ordinal()] = new EncodedText(value.toString());
+        }
+
+        return names;
+    }
+
+    /**
+     * Append the text
+     *
+     * @param out The appendable to write to
+     * @return Returns the appendable
+     * @throws IOException
+     */
+    public Appendable appendTo(Appendable out) throws IOException
+    {
+        if (out instanceof ByteBufferAppendable)
+        {
+            return ((ByteBufferAppendable) out).appendEncoded(this._bytes);
+        }
+
+        return out.append(this._text);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this._text;
+    }
+
+}
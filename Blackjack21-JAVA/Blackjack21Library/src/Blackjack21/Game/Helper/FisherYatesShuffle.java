@@ -0,0 +1,43 @@
+package Blackjack21.Game.Helper;
+
+/**
+ * Shuffles cards in place by swapping each position with a random earlier
+ * position, every ordering is equally likely
+ */
+public class FisherYatesShuffle implements ShuffleStrategy
+{
+
+    private final RandomSource _random;
+
+    /**
+     * Initialize the shuffle with an unseeded random source
+     */
+    public FisherYatesShuffle()
+    {
+        this(new SplittableRandomSource());
+    }
+
+    /**
+     * Initialize the shuffle
+     *
+     * @param random The random source used to shuffle
+     */
+    public FisherYatesShuffle(RandomSource random)
+    {
+        this._random = random;
+    }
+
+    @Override
+    public void shuffle(byte[] cards, int from, int to)
+    {
+        for (int i = to - 1; i > from; i--)
+        {
+            int randomIndex = from + this._random.nextInt(i - from + 1);
+            //Swap elements
+            byte tmp = cards[i];
+            cards[i] = cards[randomIndex];
+            cards[randomIndex] = tmp;
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package Blackjack21.Game.Helper;
+
+/**
+ * A shuffle that leaves the cards in their current order, used to deal a
+ * known sequence of cards in tests
+ */
+public class OrderedShuffle implements ShuffleStrategy
+{
+
+    @Override
+    public void shuffle(byte[] cards, int from, int to)
+    {
+    }
+
+}
@@ -0,0 +1,43 @@
+package Blackjack21.Game.Helper;
+
+/**
+ * A source of random numbers used to shuffle cards. Implementations are not
+ * thread safe, each table or worker thread should use its own source created
+ * with split()
+ */
+public interface RandomSource
+{
+
+    /**
+     * Returns a random number between zero (inclusive) and the bound
+     * (exclusive)
+     *
+     * @param bound Upper bound, must be positive
+     * @return
+     */
+    int nextInt(int bound);
+
+    /**
+     * Returns a random 64 bit number
+     *
+     * @return
+     */
+    long nextLong();
+
+    /**
+     * Returns a random number between zero (inclusive) and one (exclusive)
+     *
+     * @return
+     */
+    double nextDouble();
+
+    /**
+     * Create a new random source with a stream that is independent of this
+     * one, the result only depends on the current state of this source so
+     * seeded runs stay reproducible
+     *
+     * @return Returns the new random source
+     */
+    RandomSource split();
+
+}
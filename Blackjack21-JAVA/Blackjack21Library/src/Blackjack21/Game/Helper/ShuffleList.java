@@ -1,8 +1,6 @@
 package Blackjack21.Game.Helper;
 
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.Random;
 
 /**
  * A class used to shuffle a list's objects The object to use for the list
@@ -12,11 +10,24 @@ import java.util.Random;
 public class ShuffleList<T> extends ArrayList<T>
 {
 
+    private final RandomSource _random;
+
     /**
      * Initialize the shuffle list object
      */
     public ShuffleList()
     {
+        this(new SplittableRandomSource());
+    }
+
+    /**
+     * Initialize the shuffle list object
+     *
+     * @param random The random source used to shuffle the list
+     */
+    public ShuffleList(RandomSource random)
+    {
+        this._random = random;
     }
 
     /**
@@ -127,8 +138,7 @@ public class ShuffleList<T> extends ArrayList<T>
      */
     private int next(int min, int max)
     {
-        // java random code copied from https://www.educative.io/edpresso/how-to-generate-random-numbers-in-java
-        return (int) Math.floor(Math.random() * (max - min) + min);
+        return min + this._random.nextInt(max - min);
     }
 
 }
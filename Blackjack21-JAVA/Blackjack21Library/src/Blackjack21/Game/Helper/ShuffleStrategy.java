@@ -0,0 +1,19 @@
+package Blackjack21.Game.Helper;
+
+/**
+ * A shuffle algorithm that reorders a range of card codes in place
+ */
+public interface ShuffleStrategy
+{
+
+    /**
+     * Shuffle the items between the from index (inclusive) and the to index
+     * (exclusive)
+     *
+     * @param cards Card codes to shuffle
+     * @param from First index of the range to shuffle
+     * @param to Index after the last card of the range to shuffle
+     */
+    void shuffle(byte[] cards, int from, int to);
+
+}
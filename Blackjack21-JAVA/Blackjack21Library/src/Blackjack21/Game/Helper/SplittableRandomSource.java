@@ -0,0 +1,61 @@
+package Blackjack21.Game.Helper;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random source backed by java.util.SplittableRandom
+ */
+public class SplittableRandomSource implements RandomSource
+{
+
+    private final SplittableRandom _random;
+
+    /**
+     * Initialize the random source with an unpredictable seed
+     */
+    public SplittableRandomSource()
+    {
+        this._random = new SplittableRandom();
+    }
+
+    /**
+     * Initialize the random source with a seed, sources with the same seed
+     * return the same numbers
+     *
+     * @param seed The seed value
+     */
+    public SplittableRandomSource(long seed)
+    {
+        this._random = new SplittableRandom(seed);
+    }
+
+    private SplittableRandomSource(SplittableRandom random)
+    {
+        this._random = random;
+    }
+
+    @Override
+    public int nextInt(int bound)
+    {
+        return this._random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong()
+    {
+        return this._random.nextLong();
+    }
+
+    @Override
+    public double nextDouble()
+    {
+        return this._random.nextDouble();
+    }
+
+    @Override
+    public RandomSource split()
+    {
+        return new SplittableRandomSource(this._random.split());
+    }
+
+}
@@ -0,0 +1,115 @@
+package Blackjack21.Game.Helper;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size cache of values by 64 bit hash keys. Every key has one slot
+ * picked by its low bits and a new entry replaces the entry in its slot, so
+ * the cache never grows or needs clearing. Each entry holds the same number
+ * of double values in one shared array
+ */
+public final class TranspositionTable
+{
+
+    private final long[] _keys;
+    private final double[] _values;
+    private final int _width;
+    private final int _mask;
+    private int _size;
+
+    /**
+     * Initialize the table
+     *
+     * @param capacity Number of entries, rounded up to a power of two
+     * @param width Number of values of each entry
+     */
+    public TranspositionTable(int capacity, int width)
+    {
+        if (capacity <= 0 || capacity > 1 << 30 || width <= 0)
+        {
+            throw new IllegalArgumentException("Invalid table capacity or width");
+        }
+
+        int slots = Integer.highestOneBit(capacity);
+        slots = slots < capacity ? slots << 1 : slots;
+        this._keys = new long[slots];
+        this._values = new double[slots * width];
+        this._width = width;
+        this._mask = slots - 1;
+    }
+
+    /**
+     * Returns the offset of a key's values, the values are read from the
+     * values array
+     *
+     * @param key The entry key
+     * @return Returns -1 if the key is not in the table
+     */
+    public int find(long key)
+    {
+        // empty slots hold 0, stored keys always have the low bit set
+        key |= 1;
+        int slot = (int) (key ^ key >>> 32) & this._mask;
+        return this._keys[slot] == key ? slot * this._width : -1;
+    }
+
+    /**
+     * Returns the offset to write a key's values to, replacing the entry in
+     * the key's slot
+     *
+     * @param key The entry key
+     * @return
+     */
+    public int store(long key)
+    {
+        key |= 1;
+        int slot = (int) (key ^ key >>> 32) & this._mask;
+        if (this._keys[slot] == 0)
+        {
+            this._size++;
+        }
+
+        this._keys[slot] = key;
+        return slot * this._width;
+    }
+
+    /**
+     * Gets the values of all entries
+     *
+     * @return
+     */
+    public double[] getValues()
+    {
+        return this._values;
+    }
+
+    /**
+     * Gets the number of used slots
+     *
+     * @return
+     */
+    public int getSize()
+    {
+        return this._size;
+    }
+
+    /**
+     * Gets the number of slots
+     *
+     * @return
+     */
+    public int getCapacity()
+    {
+        return this._keys.length;
+    }
+
+    /**
+     * Remove every entry
+     */
+    public void clear()
+    {
+        Arrays.fill(this._keys, 0);
+        this._size = 0;
+    }
+
+}
@@ -0,0 +1,115 @@
+package Blackjack21.Game.Helper;
+
+/**
+ * A xoshiro256** random source, split streams are seeded from the output of
+ * the source they are split from
+ */
+public class XoshiroRandomSource implements RandomSource
+{
+
+    private long _s0;
+    private long _s1;
+    private long _s2;
+    private long _s3;
+
+    /**
+     * Initialize the random source with an unpredictable seed
+     */
+    public XoshiroRandomSource()
+    {
+        this(System.nanoTime() ^ Thread.currentThread().getId() * 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * Initialize the random source with a seed, sources with the same seed
+     * return the same numbers
+     *
+     * @param seed The seed value
+     */
+    public XoshiroRandomSource(long seed)
+    {
+        // expand the seed into the four state words using splitmix64
+        long x = seed;
+        x += 0x9e3779b97f4a7c15L;
+        this._s0 = mix(x);
+        x += 0x9e3779b97f4a7c15L;
+        this._s1 = mix(x);
+        x += 0x9e3779b97f4a7c15L;
+        this._s2 = mix(x);
+        x += 0x9e3779b97f4a7c15L;
+        this._s3 = mix(x);
+    }
+
+    private XoshiroRandomSource(long s0, long s1, long s2, long s3)
+    {
+        this._s0 = s0;
+        this._s1 = s1;
+        this._s2 = s2;
+        this._s3 = s3;
+    }
+
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextLong()
+    {
+        long result = Long.rotateLeft(this._s1 * 5, 7) * 9;
+        long t = this._s1 << 17;
+        this._s2 ^= this._s0;
+        this._s3 ^= this._s1;
+        this._s1 ^= this._s2;
+        this._s0 ^= this._s3;
+        this._s2 ^= t;
+        this._s3 = Long.rotateLeft(this._s3, 45);
+        return result;
+    }
+
+    @Override
+    public int nextInt(int bound)
+    {
+        if (bound <= 0)
+        {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        int r = (int) (nextLong() >>> 33);
+        int m = bound - 1;
+        if ((bound & m) == 0)
+        {
+            return (int) ((bound * (long) r) >> 31);
+        }
+
+        // reject values from the incomplete last range to avoid bias
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33))
+        {
+        }
+
+        return r;
+    }
+
+    @Override
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns a source with all four state words taken from this source's
+     * next numbers through splitmix64. Jumping this source forward instead
+     * would hand a source split from a split source the state its parent
+     * jumps to, and the two would return the same numbers
+     *
+     * @return Returns the new random source
+     */
+    @Override
+    public RandomSource split()
+    {
+        return new XoshiroRandomSource(mix(nextLong()), mix(nextLong()), mix(nextLong()), mix(nextLong()));
+    }
+
+}
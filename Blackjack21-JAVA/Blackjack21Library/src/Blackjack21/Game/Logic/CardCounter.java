@@ -0,0 +1,129 @@
+package Blackjack21.Game.Logic;
+
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.CountingSystem;
+
+/**
+ * Keeps the count of one counting system for the cards dealt from a deck. The
+ * deck adds every dealt card and resets the count when it is shuffled, a card
+ * is added with one lookup in the system's table of tags by card code
+ */
+public class CardCounter
+{
+
+    public static final int DECK_SIZE = Card.CARD_TYPE_COUNT * Card.CARD_SYMBOL_COUNT;
+
+    private final CountingSystem _system;
+    private int _runningCount;
+    private int _cardsSeen;
+    private int _cardsRemaining;
+
+    /**
+     * Initialize a counter, use CardDeck.addCounter to count a deck's cards
+     *
+     * @param system The counting system
+     */
+    CardCounter(CountingSystem system)
+    {
+        this._system = system;
+    }
+
+    /**
+     * Gets the counting system
+     *
+     * @return
+     */
+    public CountingSystem getSystem()
+    {
+        return this._system;
+    }
+
+    /**
+     * Gets the running count
+     *
+     * @return
+     */
+    public int getRunningCount()
+    {
+        return this._runningCount;
+    }
+
+    /**
+     * Gets the number of cards counted since the shoe was shuffled
+     *
+     * @return
+     */
+    public int getCardsSeen()
+    {
+        return this._cardsSeen;
+    }
+
+    /**
+     * Gets the number of cards left in the shoe
+     *
+     * @return
+     */
+    public int getCardsRemaining()
+    {
+        return this._cardsRemaining;
+    }
+
+    /**
+     * Returns the estimated number of decks left in the shoe
+     *
+     * @return
+     */
+    public double getRemainingDecks()
+    {
+        return (double) this._cardsRemaining / DECK_SIZE;
+    }
+
+    /**
+     * Returns the running count divided by the decks left in the shoe
+     *
+     * @return Returns the running count when the shoe is empty
+     */
+    public double getTrueCount()
+    {
+        return this._cardsRemaining == 0 ? this._runningCount : this._runningCount * (double) DECK_SIZE / this._cardsRemaining;
+    }
+
+    /**
+     * Start a new count for a shuffled shoe
+     *
+     * @param cardCount Number of cards in the shoe
+     */
+    void reset(int cardCount)
+    {
+        this._runningCount = this._system.getInitialCount((cardCount + DECK_SIZE / 2) / DECK_SIZE);
+        this._cardsSeen = 0;
+        this._cardsRemaining = cardCount;
+    }
+
+    /**
+     * Add a dealt card to the count
+     *
+     * @param cardCode The card's code
+     */
+    void count(int cardCode)
+    {
+        this._runningCount += this._system.getCardTag(cardCode);
+        this._cardsSeen++;
+        this._cardsRemaining--;
+    }
+
+    /**
+     * Remove a card from the shoe without counting it, used for burnt cards
+     */
+    void skip()
+    {
+        this._cardsRemaining--;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s: running count %d, true count %.2f, %.2f decks left", this._system, this._runningCount, this.getTrueCount(), this.getRemainingDecks());
+    }
+
+}
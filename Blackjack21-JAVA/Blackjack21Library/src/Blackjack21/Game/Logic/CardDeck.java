@@ -1,8 +1,19 @@
 package Blackjack21.Game.Logic;
 
 import Blackjack21.Game.Exceptions.DeckEmptyException;
-import Blackjack21.Game.Helper.ShuffleList;
+import Blackjack21.Game.Helper.CasinoShuffle;
+import Blackjack21.Game.Helper.FisherYatesShuffle;
+import Blackjack21.Game.Helper.OrderedShuffle;
+import Blackjack21.Game.Helper.RandomSource;
+import Blackjack21.Game.Helper.ShuffleStrategy;
+import Blackjack21.Game.Helper.SplittableRandomSource;
+import Blackjack21.Game.Metrics.GameMonitor;
+import Blackjack21.Game.Metrics.RecorderSupport;
+import Blackjack21.Game.Metrics.ShuffleEvent;
 import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.CountingSystem;
+import Blackjack21.Game.Model.ShuffleType;
+import java.util.Arrays;
 
 /**
  * A card deck object, used to store and manage a deck which will be used in a
@@ -11,31 +22,83 @@ import Blackjack21.Game.Model.Card;
 public class CardDeck
 {
 
-    int CARDMAX = 13;
-    int SYMBOLMAX = 4;
+    int CARDMAX = Card.CARD_TYPE_COUNT;
+    int SYMBOLMAX = Card.CARD_SYMBOL_COUNT;
 
-    // Store our cards in a queue
-    private final ShuffleList<Card> _deckCards;
-    // we will use this to reinitiilize the deck if it need to be refreshed
-    private final ShuffleList<Card> _deckCopy;
+    // The play shoe stored as card codes, cards before the draw cursor have
+    // already been dealt
+    private byte[] _deckCards;
+    // Number of cards loaded into the shoe
+    private int _shoeSize;
+    // Index of the next card to deal from the shoe
+    private int _drawCursor;
+    // Index of the first card of the current shoe, cards before it are still
+    // in play from a round the shoe was reshuffled in
+    private int _shoeStart;
+    // Index of the first card dealt in the current round
+    private int _roundStart;
+    // Set once the loaded cards are shuffled or restored into a shoe, a shoe
+    // that was never started has no size and no dealt cards
+    private boolean _shoeStarted;
+    private final RandomSource _random;
+    private ShuffleStrategy _shuffleStrategy;
+    private ShuffleType _shuffleType;
+    // Counters told about every dealt card, replaced when a counter is added
+    // or removed so dealing does not allocate
+    private CardCounter[] _counters;
+    // The cards left by rank, kept up to date as cards are dealt
+    private final ShoeComposition _composition;
+    private GameMonitor _monitor;
+    // The ID of the table dealing the deck, recorded with its events
+    private long _tableId;
 
     /**
-     * Create a new instance of the deck object
+     * Create a new instance of the deck object with an unseeded random source
      */
     public CardDeck()
     {
-        this._deckCards = new ShuffleList<>();
-        this._deckCopy = new ShuffleList<>();
+        this(new SplittableRandomSource());
     }
 
     /**
-     * add cards to the copy deck
+     * Create a new instance of the deck object
+     *
+     * @param random The random source used to shuffle the deck
+     */
+    public CardDeck(RandomSource random)
+    {
+        this._random = random;
+        this._deckCards = new byte[0];
+        this._shoeSize = 0;
+        this._drawCursor = 0;
+        this._counters = new CardCounter[0];
+        this._composition = new ShoeComposition();
+        this._monitor = GameMonitor.DISABLED;
+        setShuffleType(ShuffleType.FISHER_YATES);
+    }
+
+    /**
+     * add cards to the shoe, the shoe grows when it is full
      *
      * @param card
      */
     private void addDeckCard(Card card)
     {
-        this._deckCopy.add(card);
+        int cardCode = card.getCardCode();
+        if (cardCode < 0)
+        {
+            throw new IllegalArgumentException("Cards added to the deck must have a type and symbol");
+        }
+
+        if (this._shoeSize == this._deckCards.length)
+        {
+            this._deckCards = Arrays.copyOf(this._deckCards, Math.max(52, this._shoeSize * 2));
+        }
+
+        this._deckCards[this._shoeSize++] = (byte) cardCode;
+        // cards added to the shoe are not playable until the deck is shuffled
+        this._drawCursor = this._shoeSize;
+        this._shoeStarted = false;
     }
 
     /**
@@ -54,7 +117,7 @@ public class CardDeck
             {
                 for (int typeCount = 1; typeCount <= CARDMAX; typeCount++)
                 {
-                    addDeckCard(new Card(typeCount, symbolCount));
+                    addDeckCard(Card.of(typeCount, symbolCount));
                 }
             }
         }
@@ -88,18 +151,260 @@ public class CardDeck
      */
     public int getCardCount()
     {
-        return this._deckCards.size();
+        return this._shoeSize - this._drawCursor;
+    }
+
+    /**
+     * Gets the random source used to shuffle the deck
+     *
+     * @return
+     */
+    public RandomSource getRandomSource()
+    {
+        return this._random;
+    }
+
+    /**
+     * Gets the shuffle algorithm used by the deck
+     *
+     * @return
+     */
+    public ShuffleType getShuffleType()
+    {
+        return this._shuffleType;
+    }
+
+    /**
+     * Select one of the built in shuffle algorithms
+     *
+     * @param shuffleType The shuffle algorithm to use, CUSTOM requires a
+     * strategy to be set with setShuffleStrategy
+     */
+    public void setShuffleType(ShuffleType shuffleType)
+    {
+        switch (shuffleType)
+        {
+            case FISHER_YATES:
+                this._shuffleStrategy = new FisherYatesShuffle(this._random);
+                break;
+            case CASINO:
+                this._shuffleStrategy = new CasinoShuffle(this._random);
+                break;
+            case ORDERED:
+                this._shuffleStrategy = new OrderedShuffle();
+                break;
+            default:
+                throw new IllegalArgumentException("Use setShuffleStrategy to set a custom shuffle");
+        }
+
+        this._shuffleType = shuffleType;
+    }
+
+    /**
+     * Use a custom shuffle algorithm
+     *
+     * @param shuffleStrategy The shuffle algorithm to use
+     */
+    public void setShuffleStrategy(ShuffleStrategy shuffleStrategy)
+    {
+        this._shuffleStrategy = shuffleStrategy;
+        this._shuffleType = ShuffleType.CUSTOM;
     }
 
     /**
-     * Shuffle the deck
+     * Return all dealt cards to the shoe and shuffle it
      */
     public void shuffleDeck()
     {
-        clearDeck();
-        this._deckCopy.shuffleShift();
-        // Add shuffled cards to the play deck
-        this._deckCards.addAll(this._deckCopy);
+        ShuffleEvent event = RecorderSupport.AVAILABLE ? ShuffleEvent.start() : null;
+        int cardsDealt = this.getCardsDealt();
+        int shoeSize = this.getShoeSize();
+        this._monitor.deckShuffled(cardsDealt, shoeSize);
+        this._shuffleStrategy.shuffle(this._deckCards, 0, this._shoeSize);
+        this._drawCursor = 0;
+        startShoe();
+        if (event != null)
+        {
+            event.finish(this._tableId, this._shuffleType.name(), shoeSize, cardsDealt, false);
+        }
+    }
+
+    /**
+     * Gets the monitor told about shuffles and draws from an empty deck
+     *
+     * @return
+     */
+    public GameMonitor getMonitor()
+    {
+        return this._monitor;
+    }
+
+    /**
+     * Sets the monitor told about shuffles and draws from an empty deck
+     *
+     * @param monitor The monitor, GameMonitor.DISABLED to stop monitoring
+     */
+    public void setMonitor(GameMonitor monitor)
+    {
+        this._monitor = monitor;
+    }
+
+    /**
+     * Gets the ID of the table dealing the deck
+     *
+     * @return
+     */
+    public long getTableId()
+    {
+        return this._tableId;
+    }
+
+    /**
+     * Sets the ID of the table dealing the deck, recorded with the deck's
+     * flight recorder events
+     *
+     * @param tableId The table's ID
+     */
+    public void setTableId(long tableId)
+    {
+        this._tableId = tableId;
+    }
+
+    /**
+     * Mark the start of a round, the cards dealt from here on are in play
+     * until the next round and are kept out of reshuffleDiscards
+     */
+    public void markRoundStart()
+    {
+        this._roundStart = this._drawCursor;
+    }
+
+    /**
+     * Shuffle the discarded and undealt cards into a new shoe in the middle of
+     * a round. The cards dealt since markRoundStart stay in play and are moved
+     * to the front of the shoe, out of the shuffle
+     *
+     * @return Returns false if there are no cards to shuffle
+     */
+    public boolean reshuffleDiscards()
+    {
+        int inPlay = this._drawCursor - this._roundStart;
+        if (inPlay == this._shoeSize)
+        {
+            return false;
+        }
+
+        ShuffleEvent event = RecorderSupport.AVAILABLE ? ShuffleEvent.start() : null;
+        int cardsDealt = this.getCardsDealt();
+        int shoeSize = this.getShoeSize();
+        this._monitor.deckShuffled(cardsDealt, shoeSize);
+        // rotate the cards in play ahead of the discards without allocating
+        reverse(this._deckCards, 0, this._roundStart);
+        reverse(this._deckCards, this._roundStart, this._drawCursor);
+        reverse(this._deckCards, 0, this._drawCursor);
+        this._shuffleStrategy.shuffle(this._deckCards, inPlay, this._shoeSize);
+        this._drawCursor = inPlay;
+        startShoe();
+        this._roundStart = 0;
+        if (event != null)
+        {
+            event.finish(this._tableId, this._shuffleType.name(), shoeSize, cardsDealt, true);
+        }
+
+        return true;
+    }
+
+    /**
+     * Burn cards from the top of the deck, burnt cards are not shown so the
+     * counters only count them as dealt
+     *
+     * @param cardCount Number of cards to burn
+     * @return Returns the number of cards burnt, fewer when the deck runs out
+     */
+    public int burnCards(int cardCount)
+    {
+        int burnt = Math.min(cardCount, this.getCardCount());
+        for (int card = 0; card < burnt; card++)
+        {
+            int cardCode = this._deckCards[this._drawCursor++];
+            this._composition.remove(cardCode);
+            for (CardCounter counter : this._counters)
+            {
+                counter.skip();
+            }
+        }
+
+        return burnt;
+    }
+
+    /**
+     * Gets the number of cards in the current shoe, cards kept in play by
+     * reshuffleDiscards are not included
+     *
+     * @return Returns 0 if the loaded cards have not been shuffled yet
+     */
+    public int getShoeSize()
+    {
+        return this._shoeStarted ? this._shoeSize - this._shoeStart : 0;
+    }
+
+    /**
+     * Gets the number of cards dealt or burnt from the current shoe
+     *
+     * @return Returns 0 if the loaded cards have not been shuffled yet
+     */
+    public int getCardsDealt()
+    {
+        return this._shoeStarted ? this._drawCursor - this._shoeStart : 0;
+    }
+
+    /**
+     * Count the cards dealt from the deck with a counting system, the count
+     * starts over when the deck is shuffled
+     *
+     * @param system The counting system
+     * @return Returns the counter keeping the count
+     */
+    public CardCounter addCounter(CountingSystem system)
+    {
+        CardCounter counter = new CardCounter(system);
+        counter.reset(this.getCardCount());
+        this._counters = Arrays.copyOf(this._counters, this._counters.length + 1);
+        this._counters[this._counters.length - 1] = counter;
+        return counter;
+    }
+
+    /**
+     * Stop counting the cards dealt from the deck with a counter
+     *
+     * @param counter The counter returned by addCounter
+     * @return Returns false if the counter was not counting this deck
+     */
+    public boolean removeCounter(CardCounter counter)
+    {
+        for (int index = 0; index < this._counters.length; index++)
+        {
+            if (this._counters[index] == counter)
+            {
+                CardCounter[] counters = new CardCounter[this._counters.length - 1];
+                System.arraycopy(this._counters, 0, counters, 0, index);
+                System.arraycopy(this._counters, index + 1, counters, index, counters.length - index);
+                this._counters = counters;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the counters counting the deck's cards
+     *
+     * @return
+     */
+    public CardCounter[] getCounters()
+    {
+        return Arrays.copyOf(this._counters, this._counters.length);
     }
 
     /**
@@ -111,12 +416,134 @@ public class CardDeck
      */
     public Card hitCard() throws DeckEmptyException
     {
-        if (_deckCards.isEmpty() == true)
+        if (this._drawCursor >= this._shoeSize)
         {
+            this._monitor.deckEmpty();
             throw new DeckEmptyException();
         }
 
-        return this._deckCards.pop();
+        return dealCard();
+    }
+
+    /**
+     * Remove and return a card from the top of a deck, returns null if the
+     * deck is empty
+     *
+     * @return Return the top card from the deck
+     */
+    public Card tryHitCard()
+    {
+        if (this._drawCursor >= this._shoeSize)
+        {
+            this._monitor.deckEmpty();
+            return null;
+        }
+
+        return dealCard();
+    }
+
+    /**
+     * Deal the card at the draw cursor and add it to the counters
+     *
+     * @return
+     */
+    private Card dealCard()
+    {
+        int cardCode = this._deckCards[this._drawCursor++];
+        this._composition.remove(cardCode);
+        for (CardCounter counter : this._counters)
+        {
+            counter.count(cardCode);
+        }
+
+        return Card.fromCode(cardCode);
+    }
+
+    /**
+     * Start a new shoe at the draw cursor, the composition is recounted and
+     * the counters start over
+     */
+    private void startShoe()
+    {
+        this._shoeStarted = true;
+        this._shoeStart = this._drawCursor;
+        this._roundStart = this._drawCursor;
+        this._composition.recount(this._deckCards, this._drawCursor, this._shoeSize);
+        int cardCount = this.getCardCount();
+        for (CardCounter counter : this._counters)
+        {
+            counter.reset(cardCount);
+        }
+    }
+
+    private static void reverse(byte[] cards, int from, int to)
+    {
+        for (int left = from, right = to - 1; left < right; left++, right--)
+        {
+            byte card = cards[left];
+            cards[left] = cards[right];
+            cards[right] = card;
+        }
+    }
+
+    /**
+     * Returns the number of cards left in the deck of each rank, indexed from 0
+     * for an ace to 9 for a ten value card
+     *
+     * @return
+     */
+    public int[] getRankCounts()
+    {
+        return this._composition.toArray();
+    }
+
+    /**
+     * Gets the live view of the cards left in the deck by rank and their hash
+     *
+     * @return
+     */
+    public ShoeComposition getComposition()
+    {
+        return this._composition;
+    }
+
+    /**
+     * Returns a copy of the cards left in the deck as card codes, in the order
+     * they will be dealt
+     *
+     * @return
+     */
+    public byte[] getShoeSnapshot()
+    {
+        return Arrays.copyOfRange(this._deckCards, this._drawCursor, this._shoeSize);
+    }
+
+    /**
+     * Replace the deck with a snapshot taken by getShoeSnapshot, the cards
+     * are dealt in the snapshot's order without shuffling
+     *
+     * @param snapshot Card codes to load into the deck, from 0 to 51
+     * @throws Blackjack21.Game.Exceptions.DeckEmptyException
+     */
+    public void restoreShoe(byte[] snapshot) throws DeckEmptyException
+    {
+        if (snapshot == null || snapshot.length == 0)
+        {
+            throw new DeckEmptyException("Cards added to the deck cannot be null or empty");
+        }
+
+        for (byte cardCode : snapshot)
+        {
+            if (cardCode < 0 || cardCode >= Card.CARD_TYPE_COUNT * Card.CARD_SYMBOL_COUNT)
+            {
+                throw new IllegalArgumentException("Invalid card code " + cardCode + " in the shoe snapshot");
+            }
+        }
+
+        this._deckCards = Arrays.copyOf(snapshot, snapshot.length);
+        this._shoeSize = snapshot.length;
+        this._drawCursor = 0;
+        startShoe();
     }
 
     /**
@@ -124,7 +551,8 @@ public class CardDeck
      */
     public void clearDeck()
     {
-        this._deckCards.clear();
+        this._drawCursor = this._shoeSize;
+        startShoe();
     }
 
     /**
@@ -132,8 +560,8 @@ public class CardDeck
      */
     public void clean()
     {
-        this._deckCards.clear();
-        this._deckCopy.clear();
+        this._shoeSize = 0;
+        clearDeck();
     }
 
 }
@@ -0,0 +1,177 @@
+package Blackjack21.Game.Logic;
+
+import Blackjack21.Game.Model.PlayerHandResult;
+
+/**
+ * Precomputed settlement of a player's hand against the dealer's hand. Hand
+ * states are reduced to settlement classes and a matrix indexed by the
+ * player class, the dealer class and the single hand flag holds the hand
+ * result and the payout
+ */
+public final class HandSettlement
+{
+
+    // Player classes: total * 2 + has 5 cards for totals up to 21, then bust
+    // and blackjack
+    private static final int PLAYER_BUST = (PlayerHand.MAX_HAND_VALUE + 1) * 2;
+    private static final int PLAYER_BLACKJACK = PLAYER_BUST + 1;
+    private static final int PLAYER_CLASSES = PLAYER_BLACKJACK + 1;
+    // Dealer classes: totals up to 21, then bust and blackjack
+    private static final int DEALER_BUST = PlayerHand.MAX_HAND_VALUE + 1;
+    private static final int DEALER_BLACKJACK = DEALER_BUST + 1;
+    private static final int DEALER_CLASSES = DEALER_BLACKJACK + 1;
+
+    private static final int RESULT_MASK = 0xF;
+    private static final int PAYOUT_SHIFT = 4;
+
+    private static final PlayerHandResult[] RESULTS = PlayerHandResult.values();
+    private static final byte[] PLAYER_CLASS = new byte[HandState.STATE_COUNT];
+    private static final byte[] DEALER_CLASS = new byte[HandState.STATE_COUNT];
+    // Settlement indexed by (player class * dealer classes + dealer class) * 2 + single hand
+    private static final int[] MATRIX = new int[PLAYER_CLASSES * DEALER_CLASSES * 2];
+
+    static
+    {
+        for (int state = 0; state < HandState.STATE_COUNT; state++)
+        {
+            int info = HandState.info(state);
+            int total = HandState.bestTotal(info);
+            if ((info & HandState.BUST) != 0)
+            {
+                PLAYER_CLASS[state] = PLAYER_BUST;
+                DEALER_CLASS[state] = DEALER_BUST;
+            }
+            else if ((info & HandState.BLACKJACK) != 0)
+            {
+                PLAYER_CLASS[state] = PLAYER_BLACKJACK;
+                DEALER_CLASS[state] = DEALER_BLACKJACK;
+            }
+            else
+            {
+                PLAYER_CLASS[state] = (byte) (total * 2 + (HandState.cardCount(info) == 5 ? 1 : 0));
+                DEALER_CLASS[state] = (byte) total;
+            }
+        }
+
+        for (int playerClass = 0; playerClass < PLAYER_CLASSES; playerClass++)
+        {
+            for (int dealerClass = 0; dealerClass < DEALER_CLASSES; dealerClass++)
+            {
+                for (int single = 0; single < 2; single++)
+                {
+                    PlayerHandResult result = result(playerClass, dealerClass, single == 1);
+                    MATRIX[(playerClass * DEALER_CLASSES + dealerClass) * 2 + single] = result.ordinal() | payout(result) << PAYOUT_SHIFT;
+                }
+            }
+        }
+    }
+
+    private HandSettlement()
+    {
+    }
+
+    /**
+     * Settle a player's hand against the dealer's hand
+     *
+     * @param playerState The player's hand state
+     * @param dealerState The dealer's hand state
+     * @param isSingleHand Set if the hand is not from a split
+     * @return Returns the packed settlement, read it with result and payout
+     */
+    public static int settle(int playerState, int dealerState, boolean isSingleHand)
+    {
+        return MATRIX[(PLAYER_CLASS[playerState] * DEALER_CLASSES + DEALER_CLASS[dealerState]) * 2 + (isSingleHand ? 1 : 0)];
+    }
+
+    /**
+     * Returns the hand result of a packed settlement
+     *
+     * @param settlement Packed settlement
+     * @return
+     */
+    public static PlayerHandResult result(int settlement)
+    {
+        return RESULTS[settlement & RESULT_MASK];
+    }
+
+    /**
+     * Returns the payout of a packed settlement in half bet units, a win pays
+     * 2, a blackjack pays 3 and a loss costs 2
+     *
+     * @param settlement Packed settlement
+     * @return
+     */
+    public static int payout(int settlement)
+    {
+        return settlement >> PAYOUT_SHIFT;
+    }
+
+    /**
+     * Returns the payout of a hand result in half bet units
+     *
+     * @param result The hand result
+     * @return
+     */
+    private static int payout(PlayerHandResult result)
+    {
+        switch (result)
+        {
+            case PLAYER_WON_BLACKJACK:
+                return 3;
+            case PLAYER_WON_HIGHER:
+            case PLAYER_WON_5_CARD_CHARLIE:
+                return 2;
+            case PLAYER_BUST_OVER_21:
+            case PLAYER_HAND_LOWER:
+            case PLAYER_HAND_LOWER_BLACKJACK:
+                return -2;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Settle the hand classes with the house rules, used to build the matrix
+     *
+     * @param playerClass The player's hand class
+     * @param dealerClass The dealer's hand class
+     * @param isSingleHand Set if the hand is not from a split
+     * @return
+     */
+    private static PlayerHandResult result(int playerClass, int dealerClass, boolean isSingleHand)
+    {
+        boolean playerBlackjack = playerClass == PLAYER_BLACKJACK;
+        boolean dealerBlackjack = dealerClass == DEALER_BLACKJACK;
+        // a blackjack on a split hand counts as a two card 21
+        int handValue = playerBlackjack ? PlayerHand.MAX_HAND_VALUE : playerClass / 2;
+        int dealerHandValue = dealerBlackjack ? PlayerHand.MAX_HAND_VALUE : dealerClass;
+        if (isSingleHand && playerBlackjack)
+        {
+            return dealerBlackjack ? PlayerHandResult.PLAYER_HAND_PUSH_BLACKJACK : PlayerHandResult.PLAYER_WON_BLACKJACK;
+        }
+        else if (dealerBlackjack)
+        {
+            return PlayerHandResult.PLAYER_HAND_LOWER_BLACKJACK;
+        }
+        else if (playerClass == PLAYER_BUST)
+        {
+            return PlayerHandResult.PLAYER_BUST_OVER_21;
+        }
+        else if (dealerClass != DEALER_BUST && dealerHandValue > handValue)
+        {
+            return PlayerHandResult.PLAYER_HAND_LOWER;
+        }
+        else if (dealerClass != DEALER_BUST && dealerHandValue == handValue)
+        {
+            return PlayerHandResult.PLAYER_HAND_PUSH;
+        }
+        else if (!playerBlackjack && playerClass % 2 == 1)
+        {
+            // this rule is not commonly used, mostly used in home settings
+            return PlayerHandResult.PLAYER_WON_5_CARD_CHARLIE;
+        }
+
+        return PlayerHandResult.PLAYER_WON_HIGHER;
+    }
+
+}
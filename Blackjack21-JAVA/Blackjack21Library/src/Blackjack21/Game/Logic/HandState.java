@@ -0,0 +1,155 @@
+package Blackjack21.Game.Logic;
+
+/**
+ * Precomputed hand states, a hand state is keyed by the hard total of the
+ * cards (aces counted as 1), if the hand holds an ace and the number of cards.
+ * Each state has a packed information value holding the best total and the
+ * soft, bust and blackjack flags, and a transition table gives the state
+ * reached by adding a card so a hand never recalculates its value
+ */
+public final class HandState
+{
+
+    // Hard totals from 0 to 31 are tracked exactly, higher totals share the
+    // last bucket which is always bust
+    public static final int HARD_TOTAL_MAX = 31;
+    private static final int HARD_BUCKETS = HARD_TOTAL_MAX + 1;
+    // Card counts from 0 to 5 are tracked exactly, 5 cards are needed for a
+    // 5 card charlie, larger hands share the last bucket
+    public static final int CARD_COUNT_MAX = 6;
+    private static final int CARD_BUCKETS = CARD_COUNT_MAX + 1;
+    public static final int STATE_COUNT = HARD_BUCKETS * 2 * CARD_BUCKETS;
+
+    // The state of a hand without cards
+    public static final int EMPTY = 0;
+
+    // Packed information layout
+    private static final int TOTAL_MASK = 0x3F;
+    public static final int SOFT = 1 << 6;
+    public static final int BUST = 1 << 7;
+    public static final int BLACKJACK = 1 << 8;
+    public static final int SATURATED = 1 << 9;
+    private static final int CARD_COUNT_SHIFT = 10;
+
+    private static final int[] INFO = new int[STATE_COUNT];
+    // Next state indexed by state * 11 + card value
+    private static final short[] NEXT = new short[STATE_COUNT * 11];
+
+    static
+    {
+        for (int cardCount = 0; cardCount < CARD_BUCKETS; cardCount++)
+        {
+            for (int hasAce = 0; hasAce < 2; hasAce++)
+            {
+                for (int hardTotal = 0; hardTotal < HARD_BUCKETS; hardTotal++)
+                {
+                    int state = stateOf(hardTotal, hasAce == 1, cardCount);
+                    boolean soft = hasAce == 1 && hardTotal <= PlayerHand.MAX_HAND_VALUE - 10;
+                    int bestTotal = soft ? hardTotal + 10 : hardTotal;
+                    int info = bestTotal | cardCount << CARD_COUNT_SHIFT;
+                    info |= soft ? SOFT : 0;
+                    info |= bestTotal > PlayerHand.MAX_HAND_VALUE ? BUST : 0;
+                    info |= cardCount == 2 && bestTotal == PlayerHand.MAX_HAND_VALUE ? BLACKJACK : 0;
+                    info |= hardTotal == HARD_TOTAL_MAX ? SATURATED : 0;
+                    INFO[state] = info;
+                    for (int cardValue = 1; cardValue <= 10; cardValue++)
+                    {
+                        NEXT[state * 11 + cardValue] = (short) stateOf(
+                                Math.min(HARD_TOTAL_MAX, hardTotal + cardValue),
+                                hasAce == 1 || cardValue == 1,
+                                Math.min(CARD_COUNT_MAX, cardCount + 1));
+                    }
+                }
+            }
+        }
+    }
+
+    private HandState()
+    {
+    }
+
+    /**
+     * Returns the state index of a hand
+     *
+     * @param hardTotal Total of the cards with aces counted as 1
+     * @param hasAce If the hand holds at least one ace
+     * @param cardCount Number of cards in the hand
+     * @return
+     */
+    public static int stateOf(int hardTotal, boolean hasAce, int cardCount)
+    {
+        int hardBucket = Math.min(HARD_TOTAL_MAX, hardTotal);
+        int cardBucket = Math.min(CARD_COUNT_MAX, cardCount);
+        return (cardBucket * 2 + (hasAce ? 1 : 0)) * HARD_BUCKETS + hardBucket;
+    }
+
+    /**
+     * Returns the state reached by adding a card to a hand
+     *
+     * @param state The current hand state
+     * @param cardValue The added card's value, 1 for an ace
+     * @return
+     */
+    public static int next(int state, int cardValue)
+    {
+        return NEXT[state * 11 + cardValue];
+    }
+
+    /**
+     * Returns the packed information of a hand state
+     *
+     * @param state The hand state
+     * @return
+     */
+    public static int info(int state)
+    {
+        return INFO[state];
+    }
+
+    /**
+     * Returns the best total of the packed information, aces count as 11 when
+     * that does not bust the hand. Saturated states return 31
+     *
+     * @param info Packed hand information
+     * @return
+     */
+    public static int bestTotal(int info)
+    {
+        return info & TOTAL_MASK;
+    }
+
+    /**
+     * Returns the number of cards of the packed information, hands with 6 or
+     * more cards return 6
+     *
+     * @param info Packed hand information
+     * @return
+     */
+    public static int cardCount(int info)
+    {
+        return info >>> CARD_COUNT_SHIFT;
+    }
+
+    /**
+     * Returns the hard total of a hand state, 31 for saturated states
+     *
+     * @param state The hand state
+     * @return
+     */
+    public static int hardTotal(int state)
+    {
+        return state % HARD_BUCKETS;
+    }
+
+    /**
+     * Returns if the hand state holds an ace
+     *
+     * @param state The hand state
+     * @return
+     */
+    public static boolean hasAce(int state)
+    {
+        return (state / HARD_BUCKETS & 1) == 1;
+    }
+
+}
@@ -0,0 +1,167 @@
+package Blackjack21.Game.Logic;
+
+/**
+ * How deep a table's shoes were dealt before they were shuffled. Every
+ * finished shoe adds its cards dealt and its size, shoes that ran out in the
+ * middle of a round are counted as mid round reshuffles
+ */
+public class PenetrationStatistics
+{
+
+    private long _shoes;
+    private long _cardsDealt;
+    private long _shoeCards;
+    private double _minimumPenetration = Double.NaN;
+    private double _maximumPenetration = Double.NaN;
+    private long _midRoundReshuffles;
+    private long _burntCards;
+
+    /**
+     * Add the statistics of another table to these statistics
+     *
+     * @param statistics The statistics to add
+     */
+    public void merge(PenetrationStatistics statistics)
+    {
+        if (statistics._shoes > 0)
+        {
+            this._minimumPenetration = this._shoes == 0 ? statistics._minimumPenetration : Math.min(this._minimumPenetration, statistics._minimumPenetration);
+            this._maximumPenetration = this._shoes == 0 ? statistics._maximumPenetration : Math.max(this._maximumPenetration, statistics._maximumPenetration);
+        }
+
+        this._shoes += statistics._shoes;
+        this._cardsDealt += statistics._cardsDealt;
+        this._shoeCards += statistics._shoeCards;
+        this._midRoundReshuffles += statistics._midRoundReshuffles;
+        this._burntCards += statistics._burntCards;
+    }
+
+    /**
+     * Record a finished shoe
+     *
+     * @param cardsDealt Number of cards dealt from the shoe
+     * @param shoeSize Number of cards in the shoe
+     * @param midRound Set if the shoe ran out in the middle of a round
+     */
+    public void recordShoe(int cardsDealt, int shoeSize, boolean midRound)
+    {
+        if (shoeSize == 0)
+        {
+            return;
+        }
+
+        double penetration = (double) cardsDealt / shoeSize;
+        this._minimumPenetration = this._shoes == 0 ? penetration : Math.min(this._minimumPenetration, penetration);
+        this._maximumPenetration = this._shoes == 0 ? penetration : Math.max(this._maximumPenetration, penetration);
+        this._shoes++;
+        this._cardsDealt += cardsDealt;
+        this._shoeCards += shoeSize;
+        if (midRound)
+        {
+            this._midRoundReshuffles++;
+        }
+    }
+
+    /**
+     * Record burnt cards
+     *
+     * @param cardCount Number of cards burnt
+     */
+    public void recordBurn(int cardCount)
+    {
+        this._burntCards += cardCount;
+    }
+
+    /**
+     * Gets the number of finished shoes
+     *
+     * @return
+     */
+    public long getShoeCount()
+    {
+        return this._shoes;
+    }
+
+    /**
+     * Gets the number of cards dealt from finished shoes, burnt cards included
+     *
+     * @return
+     */
+    public long getCardsDealt()
+    {
+        return this._cardsDealt;
+    }
+
+    /**
+     * Returns the share of all finished shoes that was dealt
+     *
+     * @return Returns NaN if no shoe was finished
+     */
+    public double getAveragePenetration()
+    {
+        return this._shoes == 0 ? Double.NaN : (double) this._cardsDealt / this._shoeCards;
+    }
+
+    /**
+     * Gets the lowest penetration of a finished shoe
+     *
+     * @return Returns NaN if no shoe was finished
+     */
+    public double getMinimumPenetration()
+    {
+        return this._minimumPenetration;
+    }
+
+    /**
+     * Gets the highest penetration of a finished shoe
+     *
+     * @return Returns NaN if no shoe was finished
+     */
+    public double getMaximumPenetration()
+    {
+        return this._maximumPenetration;
+    }
+
+    /**
+     * Gets the number of shoes that ran out in the middle of a round
+     *
+     * @return
+     */
+    public long getMidRoundReshuffleCount()
+    {
+        return this._midRoundReshuffles;
+    }
+
+    /**
+     * Gets the number of burnt cards
+     *
+     * @return
+     */
+    public long getBurntCards()
+    {
+        return this._burntCards;
+    }
+
+    /**
+     * Clear the statistics
+     */
+    public void reset()
+    {
+        this._shoes = 0;
+        this._cardsDealt = 0;
+        this._shoeCards = 0;
+        this._minimumPenetration = Double.NaN;
+        this._maximumPenetration = Double.NaN;
+        this._midRoundReshuffles = 0;
+        this._burntCards = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d shoes, penetration %.2f%% (%.2f%% to %.2f%%), %d mid round reshuffles, %d burnt cards",
+                this._shoes, this.getAveragePenetration() * 100, this._minimumPenetration * 100, this._maximumPenetration * 100,
+                this._midRoundReshuffles, this._burntCards);
+    }
+
+}
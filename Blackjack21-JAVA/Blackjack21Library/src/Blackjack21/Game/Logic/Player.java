@@ -3,9 +3,13 @@ package Blackjack21.Game.Logic;
 import Blackjack21.Game.Exceptions.InvalidCardActionException;
 import Blackjack21.Game.Exceptions.InvalidHandSplitException;
 import Blackjack21.Game.Exceptions.PlayerHandNotSplitException;
+import Blackjack21.Game.Helper.EncodedText;
 import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
 import Blackjack21.Game.Model.PlayerHandResult;
 import Blackjack21.Game.Model.PlayerHandType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * A blackjack player object
@@ -13,6 +17,14 @@ import Blackjack21.Game.Model.PlayerHandType;
 public class Player
 {
 
+    // Text of the rendered player
+    private static final EncodedText PLAYER = new EncodedText("Player: ");
+    private static final EncodedText INSURANCE_WON = new EncodedText("\n\n-- PLAYER PLACED AN INSURANCE BET AND WON");
+    private static final EncodedText INSURANCE_LOST = new EncodedText("\n\n-- PLAYER PLACED AN INSURANCE BET AND LOST");
+    private static final EncodedText HAND_CARDS = new EncodedText("\n\n-- Hand Cards: \n");
+    private static final EncodedText SPLIT_HAND_CARDS = new EncodedText("\n-- Split Hand Cards: ");
+    private static final EncodedText SEPARATOR = new EncodedText("------------------------------\n");
+
     // Store our hand in a list, a player can have an additional hand if they choose to split.
     private final PlayerHand[] _playerHand;  // a player can only split his hand once there for we use an array
 
@@ -20,6 +32,7 @@ public class Player
     private boolean _playerInsured;
     private boolean _playerIsuranceCorrect;
     private final String _playerName;
+    private long _playerId;
 
     /**
      * initializes the player object
@@ -37,6 +50,7 @@ public class Player
         this._playerHandType = PlayerHandType.SINGLE_HAND;
         this._playerIsuranceCorrect = false;
         this._playerInsured = false;
+        this._playerId = -1;
     }
 
     /**
@@ -76,6 +90,81 @@ public class Player
         return this._playerHand[1];
     }
 
+    /**
+     * Gets the player's split hand, returns null if the player does not have a
+     * split hand
+     *
+     * @return
+     */
+    public PlayerHand tryGetSplitHand()
+    {
+        return this._playerHandType == PlayerHandType.SPLIT_HAND ? this._playerHand[1] : null;
+    }
+
+    /**
+     * Gets the value of the player's split hand, returns -1 if the player does
+     * not have a split hand
+     *
+     * @return
+     */
+    public int tryGetSplitHandValue()
+    {
+        return this._playerHandType == PlayerHandType.SPLIT_HAND ? this._playerHand[1].getHandValue() : -1;
+    }
+
+    /**
+     * Gets if the player can perform an action on their first hand
+     *
+     * @param action The hand action to check
+     * @return
+     */
+    public boolean canAct(PlayerHandAction action)
+    {
+        switch (action)
+        {
+            case FOLD:
+                return getCanFold();
+            case STAND:
+                return getCanStand();
+            case HIT:
+                return getCanHit();
+            case SPLIT:
+                return getCanSplitHand();
+            case DOUBLE:
+                return getCanDouble();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Gets if the player can perform an action on their split hand, returns
+     * false if the player does not have a split hand
+     *
+     * @param action The hand action to check
+     * @return
+     */
+    public boolean canActSplitHand(PlayerHandAction action)
+    {
+        if (this._playerHandType != PlayerHandType.SPLIT_HAND)
+        {
+            return false;
+        }
+
+        PlayerHand splitHand = this._playerHand[1];
+        int handValue = splitHand.getHandValue();
+        switch (action)
+        {
+            case STAND:
+            case HIT:
+                return handValue < PlayerHand.MAX_HAND_VALUE;
+            case DOUBLE:
+                return splitHand.getCardCount() == 2 && handValue >= 9 && handValue <= 11;
+            default:
+                return false;
+        }
+    }
+
     public void setIsurance(int dealerHandValue)
     {
         this._playerInsured = true;
@@ -113,6 +202,27 @@ public class Player
         return _playerName;
     }
 
+    /**
+     * Returns the player's table ID, -1 if the player is not seated at a
+     * table
+     *
+     * @return
+     */
+    public long getPlayerId()
+    {
+        return this._playerId;
+    }
+
+    /**
+     * Sets the player's table ID
+     *
+     * @param playerId
+     */
+    void setPlayerId(long playerId)
+    {
+        this._playerId = playerId;
+    }
+
     /**
      * Gets of the player's hand can be split
      *
@@ -130,7 +240,8 @@ public class Player
      */
     public boolean getCanDouble()
     {
-        return this.getFirstHand().getCardCount() == 2 && this.getFirstHandValue() >= 9 && this.getFirstHandValue() <= 11;
+        int handValue = this.getFirstHandValue();
+        return this.getFirstHand().getCardCount() == 2 && handValue >= 9 && handValue <= 11;
     }
 
     /**
@@ -217,7 +328,8 @@ public class Player
      */
     public boolean getCanDoubleSplitHand() throws PlayerHandNotSplitException
     {
-        return this.getSplitHand().getCardCount() == 2 && this.getSplitHandValue() >= 9 && this.getSplitHandValue() <= 11;
+        int handValue = this.getSplitHandValue();
+        return this.getSplitHand().getCardCount() == 2 && handValue >= 9 && handValue <= 11;
     }
 
     /**
@@ -294,6 +406,28 @@ public class Player
         throw new InvalidHandSplitException();
     }
 
+    /**
+     * Splits the players hand into two and deals a new card to each hand,
+     * returns false if the hand does not meet split conditions
+     *
+     * @param firstHandCard Card to add to the player's first hand
+     * @param splitHandCard Card to add to the player's split hand
+     * @return Returns if the hand was split
+     */
+    public boolean trySplitHandCards(Card firstHandCard, Card splitHandCard)
+    {
+        if (!this.getCanSplitHand())
+        {
+            return false;
+        }
+
+        this._playerHandType = PlayerHandType.SPLIT_HAND;
+        this._playerHand[1].addCard(this._playerHand[0].splitHandCard());
+        this._playerHand[0].addCard(firstHandCard);
+        this._playerHand[1].addCard(splitHandCard);
+        return true;
+    }
+
     /**
      * Adds a card to the player's first hand
      *
@@ -412,15 +546,39 @@ public class Player
      */
     public void setHandResult(Player dealer) throws PlayerHandNotSplitException
     {
-        if (this.getCurrentHandType() == PlayerHandType.SINGLE_HAND)
+        settleHands(dealer.getFirstHand(), null);
+    }
+
+    /**
+     * Settles the player's hands against the dealer's hand
+     *
+     * @param dealerHand The dealer's hand
+     * @param resultCounts Counts indexed by PlayerHandResult ordinal which
+     * are increased for each settled hand, can be null
+     * @return Returns the payout of the player's hands in half bet units
+     */
+    public int settleHands(PlayerHand dealerHand, int[] resultCounts)
+    {
+        int dealerHandState = dealerHand.getHandState();
+        if (this._playerHandType == PlayerHandType.SINGLE_HAND)
         {
-            this.getFirstHand().setHandResult(dealer.getFirstHand(), true);
+            int payout = this._playerHand[0].settle(dealerHandState, true);
+            if (resultCounts != null)
+            {
+                resultCounts[this._playerHand[0].getHandResult().ordinal()]++;
+            }
+
+            return payout;
         }
-        else
+
+        int payout = this._playerHand[0].settle(dealerHandState, false) + this._playerHand[1].settle(dealerHandState, false);
+        if (resultCounts != null)
         {
-            this.getFirstHand().setHandResult(dealer.getFirstHand(), false);
-            this.getSplitHand().setHandResult(dealer.getFirstHand(), false);
+            resultCounts[this._playerHand[0].getHandResult().ordinal()]++;
+            resultCounts[this._playerHand[1].getHandResult().ordinal()]++;
         }
+
+        return payout;
     }
 
     /**
@@ -437,32 +595,48 @@ public class Player
     }
 
     /**
-     * Returns the player object as a string
+     * Append the player's name, insurance and hands
      *
-     * @return return the player as a string
+     * @param out The appendable to write to
+     * @return Returns the appendable
+     * @throws IOException
      */
-    @Override
-    public String toString()
+    public Appendable appendTo(Appendable out) throws IOException
     {
-
-        String result;
-        result = "Player: " + getPlayerName();
+        PLAYER.appendTo(out);
+        out.append(getPlayerName());
         if (this.getPlayerInsured())
         {
-            result += "\n\n-- Player placed an insurance bet and ".toUpperCase() + (this.getPlayerIsuranceCorrect() ? "WON" : "LOST") + "";
+            (this.getPlayerIsuranceCorrect() ? INSURANCE_WON : INSURANCE_LOST).appendTo(out);
         }
 
-        result += "\n\n-- Hand Cards: \n";
-        result += getFirstHand().toString();
+        HAND_CARDS.appendTo(out);
+        getFirstHand().appendTo(out);
         if (this._playerHandType == PlayerHandType.SPLIT_HAND)
         {
-            result += "\n-- Split Hand Cards: ";
-            result += getFirstHand().toString();
+            SPLIT_HAND_CARDS.appendTo(out);
+            getFirstHand().appendTo(out);
         }
 
-        result += "------------------------------\n";
-        return result;
+        return SEPARATOR.appendTo(out);
+    }
 
+    /**
+     * Returns the player object as a string
+     *
+     * @return return the player as a string
+     */
+    @Override
+    public String toString()
+    {
+        try
+        {
+            return this.appendTo(new StringBuilder()).toString();
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
     }
 
 }
@@ -1,11 +1,15 @@
 package Blackjack21.Game.Logic;
 
+import Blackjack21.Game.Helper.Appendables;
+import Blackjack21.Game.Helper.EncodedText;
 import Blackjack21.Game.Model.Card;
 import Blackjack21.Game.Model.CardSymbol;
 import Blackjack21.Game.Model.CardType;
 import Blackjack21.Game.Model.PlayerHandAction;
 import Blackjack21.Game.Model.PlayerHandResult;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
 import java.util.List;
 
 /**
@@ -14,25 +18,43 @@ import java.util.List;
 public class PlayerHand
 {
     
-    private final ArrayList<Card> _cards;
+    // The hand's cards stored as card codes
+    private final byte[] _cardCodes;
+    private int _cardCount;
+    // Read only view of the cards, created once per hand
+    private final List<Card> _cards;
+    // Hard total of the cards with aces counted as 1
     private int _handValue = 0;
+    // Precomputed state of the hand, see HandState
+    private int _handState;
     private PlayerHandResult _playerHandResult;
     private PlayerHandAction _playerHandAction;
+    private int _handPayout;
     public static final int MAX_HAND_VALUE = 21;
-
-    // Keep track of the number of ace cards in the players hand
-    private int aceCount = 0;
+    // Text of the rendered hand
+    private static final EncodedText CARD_START = new EncodedText("-- [ ");
+    private static final EncodedText CARD_END = new EncodedText(" ]\n");
+    private static final EncodedText HAND_ACTION = new EncodedText("\n-- Hand Action: ");
+    private static final EncodedText HAND_VALUE = new EncodedText("\n\n-- Hand Value: ");
+    private static final EncodedText HAND_RESULT = new EncodedText("\n-- Hand Result: ");
+    private static final EncodedText[] ACTION_NAMES = EncodedText.names(PlayerHandAction.values());
+    private static final EncodedText[] RESULT_NAMES = EncodedText.names(PlayerHandResult.values());
+    // The most cards a hand can hold, 21 aces plus the card that busts the hand
+    public static final int MAX_HAND_CARDS = MAX_HAND_VALUE + 1;
 
     /**
      * Initialize the player's hand
      */
     public PlayerHand()
     {
-        this._cards = new ArrayList<>();
+        this._cardCodes = new byte[MAX_HAND_CARDS];
+        this._cardCount = 0;
+        this._cards = new HandCardList();
         this._handValue = 0;
-        this.aceCount = 0;
+        this._handState = HandState.EMPTY;
         this._playerHandResult = PlayerHandResult.NONE;
         this._playerHandAction = PlayerHandAction.NONE;
+        this._handPayout = 0;
     }
 
     /**
@@ -43,7 +65,7 @@ public class PlayerHand
      */
     public void addCard(CardType cardType, CardSymbol cardSymbol)
     {
-        addCard(new Card(cardType, cardSymbol));
+        addCard(Card.of(cardType, cardSymbol));
     }
 
     /**
@@ -53,13 +75,21 @@ public class PlayerHand
      */
     public void addCard(Card card)
     {
-        this._cards.add(card);
-        if (card.getCardType() == CardType.ACE)
+        int cardCode = card.getCardCode();
+        if (cardCode < 0)
         {
-            this.aceCount++;
+            throw new IllegalArgumentException("Cards added to a hand must have a type and symbol");
         }
-        
-        this._handValue += card.getCardValue();
+
+        if (this._cardCount == MAX_HAND_CARDS)
+        {
+            throw new IllegalStateException("A hand cannot hold more than " + MAX_HAND_CARDS + " cards");
+        }
+
+        int cardValue = card.getCardValue();
+        this._cardCodes[this._cardCount++] = (byte) cardCode;
+        this._handState = HandState.next(this._handState, cardValue);
+        this._handValue += cardValue;
     }
 
     /**
@@ -79,7 +109,8 @@ public class PlayerHand
      */
     public boolean getHasTwoPairs()
     {
-        return this.getCardCount() == 2 && this.getCards().get(0).compareCardType(this.getCards().get(1));
+        // the card type is the card code divided by the 4 symbols
+        return this._cardCount == 2 && (this._cardCodes[0] >> 2) == (this._cardCodes[1] >> 2);
     }
 
     /**
@@ -90,11 +121,27 @@ public class PlayerHand
      */
     public Card getCard(int index)
     {
-        return this._cards.get(index);
+        if (index < 0 || index >= this._cardCount)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this._cardCount);
+        }
+
+        return Card.fromCode(this._cardCodes[index]);
+    }
+
+    /**
+     * Gets the card code of a card from a given index, see Card.getCardCode
+     *
+     * @param index
+     * @return
+     */
+    public int getCardCode(int index)
+    {
+        return this._cardCodes[index];
     }
 
     /**
-     * Return the player's current hand cards
+     * Return a read only view of the player's current hand cards
      *
      * @return
      */
@@ -108,11 +155,12 @@ public class PlayerHand
      */
     public void clearCards()
     {
-        this._cards.clear();
-        this.aceCount = 0;
+        this._cardCount = 0;
+        this._handState = HandState.EMPTY;
         this._handValue = 0;
         this._playerHandResult = PlayerHandResult.NONE;
         this._playerHandAction = PlayerHandAction.NONE;
+        this._handPayout = 0;
     }
 
     /**
@@ -149,14 +197,20 @@ public class PlayerHand
      */
     public Card splitHandCard()
     {
-        Card card = _cards.get(1);
-        this._cards.remove(1);
-        // reduce the ace card count if the split card is an ace
-        if (card.getCardType() == CardType.ACE)
+        Card card = getCard(1);
+        if (this._cardCount > 2)
         {
-            this.aceCount--;
+            System.arraycopy(this._cardCodes, 2, this._cardCodes, 1, this._cardCount - 2);
         }
-        
+
+        this._cardCount--;
+        // states cannot be reversed, rebuild the state from the cards left
+        this._handState = HandState.EMPTY;
+        for (int x = 0; x < this._cardCount; x++)
+        {
+            this._handState = HandState.next(this._handState, Card.fromCode(this._cardCodes[x]).getCardValue());
+        }
+
         this._handValue -= card.getCardValue();
         return card;
     }
@@ -168,7 +222,7 @@ public class PlayerHand
      */
     public int getCardCount()
     {
-        return this._cards.size();
+        return this._cardCount;
     }
 
     /**
@@ -178,7 +232,37 @@ public class PlayerHand
      */
     public boolean getIsBlackjack()
     {
-        return this.getHandValue() == MAX_HAND_VALUE && this.getCardCount() == 2;
+        return (HandState.info(this._handState) & HandState.BLACKJACK) != 0;
+    }
+
+    /**
+     * Checks if the hand counts an ace as 11
+     *
+     * @return
+     */
+    public boolean getIsSoft()
+    {
+        return (HandState.info(this._handState) & HandState.SOFT) != 0;
+    }
+
+    /**
+     * Checks if the hand value is over 21
+     *
+     * @return
+     */
+    public boolean getIsBust()
+    {
+        return (HandState.info(this._handState) & HandState.BUST) != 0;
+    }
+
+    /**
+     * Returns the hand's precomputed state, see HandState
+     *
+     * @return
+     */
+    public int getHandState()
+    {
+        return this._handState;
     }
 
     /**
@@ -200,7 +284,7 @@ public class PlayerHand
         {
             this._playerHandResult = PlayerHandResult.PLAYER_WON_BLACKJACK;
         }
-        else if (this.getHandValue() > MAX_HAND_VALUE)
+        else if (this.getIsBust())
         {
             this._playerHandResult = PlayerHandResult.PLAYER_BUST_OVER_21;
         }
@@ -215,45 +299,43 @@ public class PlayerHand
      */
     public void setHandResult(PlayerHand dealerHand, boolean IsSingleHand)
     {
-        if (IsSingleHand && this.getIsBlackjack())
+        settle(dealerHand.getHandState(), IsSingleHand);
+    }
+
+    /**
+     * Sets the hands result and payout using the dealer's hand state
+     *
+     * @param dealerHandState The dealer's hand state
+     * @param isSingleHand Set if the the hand is not from a split
+     * @return Returns the hand's payout in half bet units
+     */
+    public int settle(int dealerHandState, boolean isSingleHand)
+    {
+        int settlement = HandSettlement.settle(this._handState, dealerHandState, isSingleHand);
+        this._playerHandResult = HandSettlement.result(settlement);
+        if (this._playerHandAction == PlayerHandAction.FOLD)
         {
-            if (this.getIsBlackjack() == dealerHand.getIsBlackjack())
-            {
-                this._playerHandResult = PlayerHandResult.PLAYER_HAND_PUSH_BLACKJACK;
-            }
-            else
-            {
-                this._playerHandResult = PlayerHandResult.PLAYER_WON_BLACKJACK;
-            }
+            // a folded hand gives up half of the bet
+            this._handPayout = -1;
         }
         else
         {
-            if (dealerHand.getIsBlackjack())
-            {
-                this._playerHandResult = PlayerHandResult.PLAYER_HAND_LOWER_BLACKJACK;
-            }
-            else if (this.getHandValue() > MAX_HAND_VALUE)
-            {
-                this._playerHandResult = PlayerHandResult.PLAYER_BUST_OVER_21;
-            }
-            else if (dealerHand.getHandValue() > this.getHandValue() && dealerHand.getHandValue() <= MAX_HAND_VALUE)
-            {
-                this._playerHandResult = PlayerHandResult.PLAYER_HAND_LOWER;
-            }
-            else if (dealerHand.getHandValue() == this.getHandValue())
-            {
-                this._playerHandResult = PlayerHandResult.PLAYER_HAND_PUSH;
-            }
-            else if (this.getCardCount() == 5)
-            {
-                // this rule is not commonly used, mostly used in home settings
-                this._playerHandResult = PlayerHandResult.PLAYER_WON_5_CARD_CHARLIE;
-            }
-            else
-            {
-                this._playerHandResult = PlayerHandResult.PLAYER_WON_HIGHER;
-            }
+            this._handPayout = HandSettlement.payout(settlement) * (this._playerHandAction == PlayerHandAction.DOUBLE ? 2 : 1);
         }
+
+        return this._handPayout;
+    }
+
+    /**
+     * Returns the hand's payout in half bet units after the hand was settled,
+     * a win pays 2, a blackjack pays 3, a loss costs 2 and a fold costs 1.
+     * Doubled hands pay twice the amount
+     *
+     * @return
+     */
+    public int getHandPayout()
+    {
+        return this._handPayout;
     }
 
     /**
@@ -263,19 +345,33 @@ public class PlayerHand
      */
     public int getHandValue()
     {
-        int handValue = this._handValue;
-        int softHandValue = (handValue + 10);
-        // check if there are any aces in the players hand, return the hand value if
-        // there are no ace cards
-        // or if the hand value >= 21 with the aces counting as 1 each
-        // or if the soft hand value would exceed 21 if we added 1 ace value of 10
-        // else add 10 to our hand value since only once ace is need, otherwise 2 aces = 22
-        if (aceCount == 0 || handValue >= MAX_HAND_VALUE || softHandValue > MAX_HAND_VALUE)
+        int info = HandState.info(this._handState);
+        // hard totals over 31 only happen when cards are added to a bust hand
+        return (info & HandState.SATURATED) == 0 ? HandState.bestTotal(info) : this._handValue;
+    }
+
+    /**
+     * Append the hand's cards, action, value and result
+     *
+     * @param out The appendable to write to
+     * @return Returns the appendable
+     * @throws IOException
+     */
+    public Appendable appendTo(Appendable out) throws IOException
+    {
+        for (int index = 0; index < this._cardCount; index++)
         {
-            return handValue;
+            CARD_START.appendTo(out);
+            Card.fromCode(this._cardCodes[index]).appendTo(out);
+            CARD_END.appendTo(out);
         }
-        
-        return softHandValue;
+        HAND_ACTION.appendTo(out);
+        ACTION_NAMES[this.getHandAction().ordinal()].appendTo(out);
+        HAND_VALUE.appendTo(out);
+        Appendables.appendInt(out, this.getHandValue());
+        HAND_RESULT.appendTo(out);
+        RESULT_NAMES[this._playerHandResult.ordinal()].appendTo(out);
+        return out.append('\n');
     }
 
     /**
@@ -286,18 +382,35 @@ public class PlayerHand
     @Override
     public String toString()
     {
-        
-        String result = "";
-        for (Object obj : _cards)
+        try
         {
-            Card card = (Card) obj;
-            result += "-- [ " + card.toString() + " ]\n";
+            return this.appendTo(new StringBuilder()).toString();
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
         }
-        result += "\n-- Hand Action: " + this.getHandAction().toString() + "\n";
-        result += "\n-- Hand Value: " + this.getHandValue() + "\n";
-        result += "-- Hand Result: " + this._playerHandResult.toString() + "\n";
-        return result;
-        
     }
     
+    /**
+     * A read only list of the hand's cards, cards are looked up from their
+     * codes when they are read
+     */
+    private class HandCardList extends AbstractList<Card>
+    {
+
+        @Override
+        public Card get(int index)
+        {
+            return getCard(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return _cardCount;
+        }
+
+    }
+
 }
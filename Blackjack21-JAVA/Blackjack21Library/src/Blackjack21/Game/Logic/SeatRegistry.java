@@ -0,0 +1,182 @@
+package Blackjack21.Game.Logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Keeps the players seated at a table. Players are found by name through a
+ * hash index, by seat number or by player ID. A player ID holds the seat
+ * number and the number of times the seat has been taken, so it stays valid
+ * while the player is seated and is never reused by a later player
+ */
+public class SeatRegistry
+{
+
+    private static final int SEAT_BITS = 16;
+    private static final int SEAT_MASK = (1 << SEAT_BITS) - 1;
+
+    private final HashMap<String, Integer> _seatByName;
+    private Player[] _seats;
+    // Number of times each seat has been taken, used to build player IDs
+    private long[] _seatGeneration;
+    // Seats after this index are all empty
+    private int _seatCount;
+    private int _playerCount;
+
+    /**
+     * Initialize the seat registry
+     */
+    public SeatRegistry()
+    {
+        this._seatByName = new HashMap<>();
+        this._seats = new Player[8];
+        this._seatGeneration = new long[8];
+        this._seatCount = 0;
+        this._playerCount = 0;
+    }
+
+    /**
+     * Seat a player in the first empty seat
+     *
+     * @param player The player to seat
+     * @return Returns the player's ID
+     */
+    public long seat(Player player)
+    {
+        int seat = 0;
+        while (seat < this._seatCount && this._seats[seat] != null)
+        {
+            seat++;
+        }
+
+        return seat(player, seat);
+    }
+
+    /**
+     * Seat a player in a given seat, the seat must be empty
+     *
+     * @param player The player to seat
+     * @param seat The seat number
+     * @return Returns the player's ID
+     */
+    public long seat(Player player, int seat)
+    {
+        if (seat < 0 || seat > SEAT_MASK)
+        {
+            throw new IllegalArgumentException("Seat " + seat + " is not a valid seat number");
+        }
+
+        if (seat >= this._seats.length)
+        {
+            int capacity = Math.max(seat + 1, this._seats.length * 2);
+            this._seats = Arrays.copyOf(this._seats, capacity);
+            this._seatGeneration = Arrays.copyOf(this._seatGeneration, capacity);
+        }
+
+        if (this._seats[seat] != null)
+        {
+            throw new IllegalStateException("Seat " + seat + " is already taken");
+        }
+
+        long playerId = ++this._seatGeneration[seat] << SEAT_BITS | seat;
+        player.setPlayerId(playerId);
+        this._seats[seat] = player;
+        this._seatByName.put(player.getPlayerName(), seat);
+        this._seatCount = Math.max(this._seatCount, seat + 1);
+        this._playerCount++;
+        return playerId;
+    }
+
+    /**
+     * Remove a player from their seat, the other players keep their seats
+     *
+     * @param playerName The player's name
+     * @return Returns the removed player or null if the player is not seated
+     */
+    public Player remove(String playerName)
+    {
+        Integer seat = this._seatByName.remove(playerName);
+        if (seat == null)
+        {
+            return null;
+        }
+
+        Player player = this._seats[seat];
+        this._seats[seat] = null;
+        this._playerCount--;
+        while (this._seatCount > 0 && this._seats[this._seatCount - 1] == null)
+        {
+            this._seatCount--;
+        }
+
+        return player;
+    }
+
+    /**
+     * Returns the seat number of a player or -1 if the player is not seated
+     *
+     * @param playerName The player's name
+     * @return
+     */
+    public int findSeat(String playerName)
+    {
+        Integer seat = this._seatByName.get(playerName);
+        return seat == null ? -1 : seat;
+    }
+
+    /**
+     * Returns the player in a seat or null if the seat is empty
+     *
+     * @param seat The seat number
+     * @return
+     */
+    public Player get(int seat)
+    {
+        return seat >= 0 && seat < this._seatCount ? this._seats[seat] : null;
+    }
+
+    /**
+     * Returns the player with a player ID or null if the player is no longer
+     * seated
+     *
+     * @param playerId The player's ID
+     * @return
+     */
+    public Player getById(long playerId)
+    {
+        Player player = get((int) (playerId & SEAT_MASK));
+        return player != null && player.getPlayerId() == playerId ? player : null;
+    }
+
+    /**
+     * Returns the seat array, seats up to getSeatCount can hold players and
+     * empty seats are null. The array must not be changed
+     *
+     * @return
+     */
+    public Player[] getSeats()
+    {
+        return this._seats;
+    }
+
+    /**
+     * Returns the number of seats up to the last taken seat
+     *
+     * @return
+     */
+    public int getSeatCount()
+    {
+        return this._seatCount;
+    }
+
+    /**
+     * Returns the number of seated players
+     *
+     * @return
+     */
+    public int getPlayerCount()
+    {
+        return this._playerCount;
+    }
+
+}
@@ -0,0 +1,129 @@
+package Blackjack21.Game.Logic;
+
+import Blackjack21.Game.Helper.CompositionHash;
+import Blackjack21.Game.Model.Card;
+import java.util.Arrays;
+
+/**
+ * A read only view of the cards left in a deck by rank, from 0 for an ace to 9
+ * for the ten value cards. The deck keeps the view up to date as cards are
+ * dealt, along with the composition's hash, so both can be read at any time
+ * without counting the shoe. The hash is the CompositionHash of the rank
+ * counts, the same key the expected value calculators cache shoes by
+ */
+public class ShoeComposition
+{
+
+    private final int[] _rankCounts;
+    private int _cardCount;
+    private long _hash;
+
+    ShoeComposition()
+    {
+        this._rankCounts = new int[Card.CARD_RANK_COUNT];
+        this._hash = CompositionHash.of(this._rankCounts);
+    }
+
+    /**
+     * Returns the rank of a card code
+     *
+     * @param cardCode The card's code
+     * @return
+     */
+    static int rankOf(int cardCode)
+    {
+        return Math.min(cardCode / Card.CARD_SYMBOL_COUNT, Card.CARD_RANK_COUNT - 1);
+    }
+
+    /**
+     * Returns the number of cards left of a rank
+     *
+     * @param rank The rank, from 0 for an ace to 9 for the ten value cards
+     * @return
+     */
+    public int getCount(int rank)
+    {
+        return this._rankCounts[rank];
+    }
+
+    /**
+     * Gets the number of cards left
+     *
+     * @return
+     */
+    public int getCardCount()
+    {
+        return this._cardCount;
+    }
+
+    /**
+     * Gets the hash of the rank counts
+     *
+     * @return
+     */
+    public long getHash()
+    {
+        return this._hash;
+    }
+
+    /**
+     * Copy the rank counts into an array
+     *
+     * @param counts The array to fill, it must hold a count for each rank
+     * @return Returns the filled array
+     */
+    public int[] copyTo(int[] counts)
+    {
+        System.arraycopy(this._rankCounts, 0, counts, 0, Card.CARD_RANK_COUNT);
+        return counts;
+    }
+
+    /**
+     * Returns a copy of the rank counts
+     *
+     * @return
+     */
+    public int[] toArray()
+    {
+        return Arrays.copyOf(this._rankCounts, Card.CARD_RANK_COUNT);
+    }
+
+    /**
+     * Recount the composition from the cards left in a shoe
+     *
+     * @param cardCodes The shoe's card codes
+     * @param from Index of the first card left
+     * @param to Index after the last card
+     */
+    void recount(byte[] cardCodes, int from, int to)
+    {
+        Arrays.fill(this._rankCounts, 0);
+        for (int index = from; index < to; index++)
+        {
+            this._rankCounts[rankOf(cardCodes[index])]++;
+        }
+
+        this._cardCount = to - from;
+        this._hash = CompositionHash.of(this._rankCounts);
+    }
+
+    /**
+     * Remove a dealt card from the composition
+     *
+     * @param cardCode The card's code
+     */
+    void remove(int cardCode)
+    {
+        int rank = rankOf(cardCode);
+        int count = this._rankCounts[rank]--;
+        this._cardCount--;
+        this._hash = CompositionHash.update(this._hash, rank, count, count - 1);
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(this._rankCounts);
+    }
+
+}
@@ -0,0 +1,58 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The initial cards were dealt
+ */
+@Name("Blackjack21.Deal")
+@Label("Deal")
+@Description("The initial cards were dealt")
+public final class DealEvent extends TableEvent
+{
+
+    @Label("Players")
+    int playerCount;
+
+    @Label("Dealer Blackjack")
+    boolean dealerBlackjack;
+
+    private DealEvent()
+    {
+    }
+
+    /**
+     * Begin timing the event
+     *
+     * @return Returns null if the event is not enabled
+     */
+    public static DealEvent start()
+    {
+        if (!GameEvents.DEAL.isEnabled())
+        {
+            return null;
+        }
+
+        DealEvent event = new DealEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the event and record it
+     *
+     * @param tableId The table's ID
+     * @param playerCount Number of players dealt in
+     * @param dealerBlackjack Set if the dealer was dealt a blackjack
+     */
+    public void finish(long tableId, int playerCount, boolean dealerBlackjack)
+    {
+        this.tableId = tableId;
+        this.playerCount = playerCount;
+        this.dealerBlackjack = dealerBlackjack;
+        this.commit();
+    }
+
+}
@@ -0,0 +1,58 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The dealer drew to a standing total
+ */
+@Name("Blackjack21.DealerDraw")
+@Label("Dealer Draw")
+@Description("The dealer drew to a standing total")
+public final class DealerDrawEvent extends TableEvent
+{
+
+    @Label("Cards Drawn")
+    int cardsDrawn;
+
+    @Label("Dealer Total")
+    int dealerTotal;
+
+    private DealerDrawEvent()
+    {
+    }
+
+    /**
+     * Begin timing the event
+     *
+     * @return Returns null if the event is not enabled
+     */
+    public static DealerDrawEvent start()
+    {
+        if (!GameEvents.DEALER_DRAW.isEnabled())
+        {
+            return null;
+        }
+
+        DealerDrawEvent event = new DealerDrawEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the event and record it
+     *
+     * @param tableId The table's ID
+     * @param cardsDrawn Number of cards the dealer drew
+     * @param dealerTotal The dealer's final total
+     */
+    public void finish(long tableId, int cardsDrawn, int dealerTotal)
+    {
+        this.tableId = tableId;
+        this.cardsDrawn = cardsDrawn;
+        this.dealerTotal = dealerTotal;
+        this.commit();
+    }
+
+}
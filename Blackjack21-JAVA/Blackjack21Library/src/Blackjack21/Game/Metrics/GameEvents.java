@@ -0,0 +1,30 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.EventType;
+
+/**
+ * The flight recorder event types of the table events. An event is only
+ * created when a recording has its type enabled, so a disabled event costs the
+ * game one field load and a branch. The events are disabled by default and
+ * are enabled in a recording's settings by name, for example
+ * <pre>
+ * &lt;event name="Blackjack21.Shuffle"&gt;
+ *   &lt;setting name="enabled"&gt;true&lt;/setting&gt;
+ * &lt;/event&gt;
+ * </pre>
+ */
+final class GameEvents
+{
+
+    static final EventType ROUND_START = EventType.getEventType(RoundStartEvent.class);
+    static final EventType SHUFFLE = EventType.getEventType(ShuffleEvent.class);
+    static final EventType DEAL = EventType.getEventType(DealEvent.class);
+    static final EventType PLAYER_TURN = EventType.getEventType(PlayerTurnEvent.class);
+    static final EventType DEALER_DRAW = EventType.getEventType(DealerDrawEvent.class);
+    static final EventType SETTLEMENT = EventType.getEventType(SettlementEvent.class);
+
+    private GameEvents()
+    {
+    }
+
+}
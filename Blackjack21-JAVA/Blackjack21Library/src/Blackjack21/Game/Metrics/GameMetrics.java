@@ -0,0 +1,333 @@
+package Blackjack21.Game.Metrics;
+
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.PlayerHandResult;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the events of one table. A table is played by one thread at a time,
+ * so the counters have a single writer and are plain array entries. The
+ * counts are published with one ordered store when a round is settled, the
+ * shoe is shuffled or an empty shoe is drawn from, and readers on other
+ * threads load that store before reading the counters. An event costs a few
+ * plain adds instead of an atomic add per counter, and the registry's totals
+ * add up the tables, so the counts are striped by table.
+ * <p>
+ * Cards dealt are added when the shoe is shuffled, so dealing a card costs
+ * nothing. A reset keeps the counts at the time of the reset as a base
+ * instead of clearing them, so it never races the table's thread. Rates are
+ * measured from the creation of the metrics or the last reset
+ */
+public class GameMetrics implements GameMonitor, GameMetricsMXBean
+{
+
+    private static final PlayerHandResult[] RESULTS = PlayerHandResult.values();
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double SECONDS_PER_HOUR = 3600;
+    // counter indexes, the hand results follow the other counters
+    private static final int ROUNDS = 0;
+    private static final int SHUFFLES = 1;
+    private static final int CARDS_DEALT = 2;
+    private static final int SHOE_CARDS = 3;
+    private static final int DECK_EMPTY = 4;
+    private static final int DEALER_BLACKJACKS = 5;
+    private static final int DEALER_BUSTS = 6;
+    private static final int PAYOUT = 7;
+    private static final int RESULT_COUNTS = 8;
+    private static final int COUNTER_COUNT = RESULT_COUNTS + RESULTS.length;
+
+    // only written by the table's thread
+    private final long[] _counters;
+    private long _events;
+    // the event count published after the counters are written
+    private final AtomicLong _published;
+    private final AtomicLongArray _resetBase;
+    private volatile long _startTime;
+
+    /**
+     * Initialize empty metrics
+     */
+    public GameMetrics()
+    {
+        this._counters = new long[COUNTER_COUNT];
+        this._published = new AtomicLong();
+        this._resetBase = new AtomicLongArray(COUNTER_COUNT);
+        this._startTime = System.nanoTime();
+    }
+
+    /**
+     * Returns the totals of a number of tables' metrics, measured from the
+     * earliest start
+     *
+     * @param metrics The metrics to add up
+     * @return
+     */
+    public static GameMetrics sum(Collection<GameMetrics> metrics)
+    {
+        GameMetrics total = new GameMetrics();
+        for (GameMetrics table : metrics)
+        {
+            for (int counter = 0; counter < COUNTER_COUNT; counter++)
+            {
+                total._counters[counter] += table.get(counter);
+            }
+
+            total.publish();
+
+            total._startTime = Math.min(total._startTime, table._startTime);
+        }
+
+        return total;
+    }
+
+    /**
+     * Counted with the round's settlement, which publishes it
+     */
+    @Override
+    public void roundStarted()
+    {
+        this._counters[ROUNDS]++;
+    }
+
+    @Override
+    public void cardsDealt(boolean dealerBlackjack)
+    {
+        if (dealerBlackjack)
+        {
+            this._counters[DEALER_BLACKJACKS]++;
+        }
+    }
+
+    @Override
+    public void dealerFinished(int dealerTotal)
+    {
+        if (dealerTotal > PlayerHand.MAX_HAND_VALUE)
+        {
+            this._counters[DEALER_BUSTS]++;
+        }
+    }
+
+    @Override
+    public void roundConcluded(int[] resultCounts, int payout)
+    {
+        for (int result = 0; result < RESULTS.length; result++)
+        {
+            this._counters[RESULT_COUNTS + result] += resultCounts[result];
+        }
+
+        this._counters[PAYOUT] += payout;
+        this.publish();
+    }
+
+    @Override
+    public void deckShuffled(int cardsDealt, int shoeSize)
+    {
+        this._counters[SHUFFLES]++;
+        if (shoeSize > 0)
+        {
+            this._counters[CARDS_DEALT] += cardsDealt;
+            this._counters[SHOE_CARDS] += shoeSize;
+        }
+
+        this.publish();
+    }
+
+    @Override
+    public void deckEmpty()
+    {
+        this._counters[DECK_EMPTY]++;
+        this.publish();
+    }
+
+    /**
+     * Gets the number of rounds started
+     *
+     * @return
+     */
+    @Override
+    public long getRounds()
+    {
+        return this.get(ROUNDS);
+    }
+
+    @Override
+    public double getRoundsPerSecond()
+    {
+        return this.get(ROUNDS) / this.getElapsedSeconds();
+    }
+
+    /**
+     * Gets the number of times the shoe was shuffled
+     *
+     * @return
+     */
+    @Override
+    public long getShuffles()
+    {
+        return this.get(SHUFFLES);
+    }
+
+    @Override
+    public double getShufflesPerHour()
+    {
+        return this.get(SHUFFLES) * SECONDS_PER_HOUR / this.getElapsedSeconds();
+    }
+
+    /**
+     * Gets the number of cards dealt from shoes that have been shuffled again
+     *
+     * @return
+     */
+    @Override
+    public long getCardsDealt()
+    {
+        return this.get(CARDS_DEALT);
+    }
+
+    /**
+     * Returns the share of the shuffled shoes that was dealt
+     *
+     * @return Returns NaN if no dealt shoe was shuffled
+     */
+    @Override
+    public double getAveragePenetration()
+    {
+        long shoeCards = this.get(SHOE_CARDS);
+        return shoeCards == 0 ? Double.NaN : (double) this.get(CARDS_DEALT) / shoeCards;
+    }
+
+    /**
+     * Gets the number of draws from an empty shoe
+     *
+     * @return
+     */
+    @Override
+    public long getDeckEmptyCount()
+    {
+        return this.get(DECK_EMPTY);
+    }
+
+    /**
+     * Returns the draws from an empty shoe per round
+     *
+     * @return Returns NaN if no round was started
+     */
+    @Override
+    public double getDeckEmptyRate()
+    {
+        long rounds = this.get(ROUNDS);
+        return rounds == 0 ? Double.NaN : (double) this.get(DECK_EMPTY) / rounds;
+    }
+
+    @Override
+    public long getDealerBlackjacks()
+    {
+        return this.get(DEALER_BLACKJACKS);
+    }
+
+    @Override
+    public long getDealerBusts()
+    {
+        return this.get(DEALER_BUSTS);
+    }
+
+    /**
+     * Gets the payout of all settled hands in bets
+     *
+     * @return
+     */
+    @Override
+    public double getPayout()
+    {
+        return this.get(PAYOUT) / 2.0;
+    }
+
+    /**
+     * Returns the number of a hand result
+     *
+     * @param result The hand result
+     * @return
+     */
+    public long getResultCount(PlayerHandResult result)
+    {
+        return this.get(RESULT_COUNTS + result.ordinal());
+    }
+
+    /**
+     * Returns the settled hands by result name
+     *
+     * @return
+     */
+    @Override
+    public Map<String, Long> getResultCounts()
+    {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (PlayerHandResult result : RESULTS)
+        {
+            counts.put(result.name(), this.get(RESULT_COUNTS + result.ordinal()));
+        }
+
+        return counts;
+    }
+
+    /**
+     * Gets the seconds since the metrics were created or reset
+     *
+     * @return
+     */
+    @Override
+    public double getElapsedSeconds()
+    {
+        return (System.nanoTime() - this._startTime) / NANOS_PER_SECOND;
+    }
+
+    /**
+     * Start the counts from 0 and restart the rates
+     */
+    @Override
+    public void reset()
+    {
+        this._published.get();
+        for (int counter = 0; counter < COUNTER_COUNT; counter++)
+        {
+            this._resetBase.set(counter, this._counters[counter]);
+        }
+
+        this._startTime = System.nanoTime();
+    }
+
+    /**
+     * Publish the counters written by the table's thread with an ordered
+     * store
+     */
+    private void publish()
+    {
+        this._published.lazySet(++this._events);
+    }
+
+    /**
+     * Returns a counter's value since the last reset, the published store is
+     * loaded first so the counters written before it are seen
+     *
+     * @param counter The counter index
+     * @return
+     */
+    private long get(int counter)
+    {
+        this._published.get();
+        return this._counters[counter] - this._resetBase.get(counter);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d rounds (%.0f/s), %d shuffles, penetration %.2f%%, %d empty shoe draws, payout %.1f",
+                this.getRounds(), this.getRoundsPerSecond(), this.getShuffles(), this.getAveragePenetration() * 100,
+                this.getDeckEmptyCount(), this.getPayout());
+    }
+
+}
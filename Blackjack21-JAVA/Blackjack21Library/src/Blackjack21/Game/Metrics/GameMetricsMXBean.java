@@ -0,0 +1,40 @@
+package Blackjack21.Game.Metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of a table's metrics, or of the totals of all
+ * tables in a registry
+ */
+public interface GameMetricsMXBean
+{
+
+    long getRounds();
+
+    double getRoundsPerSecond();
+
+    long getShuffles();
+
+    double getShufflesPerHour();
+
+    long getCardsDealt();
+
+    double getAveragePenetration();
+
+    long getDeckEmptyCount();
+
+    double getDeckEmptyRate();
+
+    long getDealerBlackjacks();
+
+    long getDealerBusts();
+
+    double getPayout();
+
+    Map<String, Long> getResultCounts();
+
+    double getElapsedSeconds();
+
+    void reset();
+
+}
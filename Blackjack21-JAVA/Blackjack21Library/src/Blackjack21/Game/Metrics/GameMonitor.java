@@ -0,0 +1,71 @@
+package Blackjack21.Game.Metrics;
+
+/**
+ * Receives the events of a table as its rounds are played. Every method does
+ * nothing by default, so a monitor only overrides the events it needs. Tables
+ * start with the DISABLED monitor, which the game checks for to skip the work
+ * of gathering event data
+ */
+public interface GameMonitor
+{
+
+    /**
+     * A monitor that ignores every event
+     */
+    GameMonitor DISABLED = new GameMonitor()
+    {
+    };
+
+    /**
+     * A new round was started
+     */
+    default void roundStarted()
+    {
+    }
+
+    /**
+     * The initial cards were dealt
+     *
+     * @param dealerBlackjack Set if the dealer was dealt a blackjack
+     */
+    default void cardsDealt(boolean dealerBlackjack)
+    {
+    }
+
+    /**
+     * The dealer finished drawing
+     *
+     * @param dealerTotal The dealer's final total
+     */
+    default void dealerFinished(int dealerTotal)
+    {
+    }
+
+    /**
+     * A round was settled
+     *
+     * @param resultCounts The round's hands by PlayerHandResult ordinal
+     * @param payout The payout of the round's hands in half bet units
+     */
+    default void roundConcluded(int[] resultCounts, int payout)
+    {
+    }
+
+    /**
+     * The shoe was shuffled
+     *
+     * @param cardsDealt Number of cards dealt from the shoe before the shuffle
+     * @param shoeSize Number of cards in the shoe before the shuffle
+     */
+    default void deckShuffled(int cardsDealt, int shoeSize)
+    {
+    }
+
+    /**
+     * A card was drawn from an empty shoe
+     */
+    default void deckEmpty()
+    {
+    }
+
+}
@@ -0,0 +1,155 @@
+package Blackjack21.Game.Metrics;
+
+/**
+ * The latencies of a histogram at one time. Percentiles are the highest value
+ * of the bucket they fall in, so they are never below the recorded latency
+ * and at most 1/64 above it
+ */
+public class HistogramSnapshot
+{
+
+    private static final double NANOS_PER_MICRO = 1000;
+    private static final double RANK_EPSILON = 1e-12;
+
+    private final long[] _counts;
+    private final long _totalCount;
+
+    HistogramSnapshot(long[] counts)
+    {
+        long totalCount = 0;
+        for (long count : counts)
+        {
+            totalCount += count;
+        }
+
+        this._counts = counts;
+        this._totalCount = totalCount;
+    }
+
+    /**
+     * Gets the number of latencies
+     *
+     * @return
+     */
+    public long getTotalCount()
+    {
+        return this._totalCount;
+    }
+
+    /**
+     * Returns the latency that a share of the latencies are at or below
+     *
+     * @param percentile The share in percent, from 0 to 100
+     * @return Returns the latency in nanoseconds, 0 if there are no latencies
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        if (percentile < 0 || percentile > 100)
+        {
+            throw new IllegalArgumentException("The percentile must be from 0 to 100: " + percentile);
+        }
+
+        if (this._totalCount == 0)
+        {
+            return 0;
+        }
+
+        // 99.9 / 100 * 1000 is 999.0000000000001 in floating point, so a
+        // tiny relative error is dropped before rounding the rank up
+        double exactRank = percentile / 100 * this._totalCount;
+        long rank = Math.max((long) Math.ceil(exactRank - exactRank * RANK_EPSILON), 1);
+        long seen = 0;
+        for (int index = 0; index < this._counts.length; index++)
+        {
+            seen += this._counts[index];
+            if (seen >= rank)
+            {
+                return LatencyHistogram.highestValue(index);
+            }
+        }
+
+        return this.getMax();
+    }
+
+    /**
+     * Gets the median latency in nanoseconds
+     *
+     * @return
+     */
+    public long getP50()
+    {
+        return this.getValueAtPercentile(50);
+    }
+
+    /**
+     * Gets the 99th percentile latency in nanoseconds
+     *
+     * @return
+     */
+    public long getP99()
+    {
+        return this.getValueAtPercentile(99);
+    }
+
+    /**
+     * Gets the 99.9th percentile latency in nanoseconds
+     *
+     * @return
+     */
+    public long getP999()
+    {
+        return this.getValueAtPercentile(99.9);
+    }
+
+    /**
+     * Gets the highest latency in nanoseconds
+     *
+     * @return Returns 0 if there are no latencies
+     */
+    public long getMax()
+    {
+        for (int index = this._counts.length - 1; index >= 0; index--)
+        {
+            if (this._counts[index] != 0)
+            {
+                return LatencyHistogram.highestValue(index);
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Gets the mean latency in nanoseconds, each latency counted as the
+     * middle of its bucket
+     *
+     * @return Returns NaN if there are no latencies
+     */
+    public double getMean()
+    {
+        if (this._totalCount == 0)
+        {
+            return Double.NaN;
+        }
+
+        double total = 0;
+        for (int index = 0; index < this._counts.length; index++)
+        {
+            if (this._counts[index] != 0)
+            {
+                total += this._counts[index] * (LatencyHistogram.lowestValue(index) + LatencyHistogram.highestValue(index)) / 2.0;
+            }
+        }
+
+        return total / this._totalCount;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d, p50 %.1fus, p99 %.1fus, p99.9 %.1fus, max %.1fus", this._totalCount,
+                this.getP50() / NANOS_PER_MICRO, this.getP99() / NANOS_PER_MICRO, this.getP999() / NANOS_PER_MICRO,
+                this.getMax() / NANOS_PER_MICRO);
+    }
+
+}
@@ -0,0 +1,148 @@
+package Blackjack21.Game.Metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A log linear histogram of latencies in nanoseconds. Values below 128 have a
+ * bucket each, and every power of 2 above that is split into 64 buckets, so a
+ * value is kept to within 1/64 of itself up to MAX_VALUE, about 68 seconds.
+ * Larger values are counted as MAX_VALUE.
+ * <p>
+ * Recording is one atomic increment of the value's bucket, so any number of
+ * threads can record without locks. Snapshots and resets keep the counts at
+ * the time of the reset as a base instead of clearing them, so they never
+ * race the recording threads. A snapshot taken while values are recorded may
+ * miss the values being recorded
+ */
+public class LatencyHistogram
+{
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final int VALUE_BITS = 36;
+    public static final long MAX_VALUE = (1L << VALUE_BITS) - 1;
+    static final int BUCKET_COUNT = (VALUE_BITS - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray _counts;
+    // the counts at the last reset, guarded by the histogram's lock
+    private final long[] _resetBase;
+
+    /**
+     * Initialize an empty histogram
+     */
+    public LatencyHistogram()
+    {
+        this._counts = new AtomicLongArray(BUCKET_COUNT);
+        this._resetBase = new long[BUCKET_COUNT];
+    }
+
+    /**
+     * Returns the bucket of a value
+     *
+     * @param value The value, negative values are counted as 0
+     * @return
+     */
+    static int indexOf(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) Math.max(value, 0);
+        }
+
+        value = Math.min(value, MAX_VALUE);
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the lowest value counted in a bucket
+     *
+     * @param index The bucket index
+     * @return
+     */
+    static long lowestValue(int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_HALF - 1;
+        return (long) (index - shift * SUB_BUCKET_HALF) << shift;
+    }
+
+    /**
+     * Returns the highest value counted in a bucket
+     *
+     * @param index The bucket index
+     * @return
+     */
+    static long highestValue(int index)
+    {
+        return lowestValue(index + 1) - 1;
+    }
+
+    /**
+     * Record a latency
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record(long nanos)
+    {
+        this._counts.incrementAndGet(indexOf(nanos));
+    }
+
+    /**
+     * Returns the latencies recorded since the last reset
+     *
+     * @return
+     */
+    public synchronized HistogramSnapshot getSnapshot()
+    {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int index = 0; index < BUCKET_COUNT; index++)
+        {
+            counts[index] = this._counts.get(index) - this._resetBase[index];
+        }
+
+        return new HistogramSnapshot(counts);
+    }
+
+    /**
+     * Returns the latencies recorded since the last reset and reset the
+     * histogram, so consecutive intervals neither miss nor repeat a latency
+     *
+     * @return
+     */
+    public synchronized HistogramSnapshot getIntervalSnapshot()
+    {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int index = 0; index < BUCKET_COUNT; index++)
+        {
+            long count = this._counts.get(index);
+            counts[index] = count - this._resetBase[index];
+            this._resetBase[index] = count;
+        }
+
+        return new HistogramSnapshot(counts);
+    }
+
+    /**
+     * Start the histogram from no latencies
+     */
+    public synchronized void reset()
+    {
+        for (int index = 0; index < BUCKET_COUNT; index++)
+        {
+            this._resetBase[index] = this._counts.get(index);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.getSnapshot().toString();
+    }
+
+}
@@ -0,0 +1,345 @@
+package Blackjack21.Game.Metrics;
+
+import Blackjack21.Game.BlackjackGame;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Keeps the metrics of a number of tables and publishes them as MBeans, one
+ * per table and one for the totals of all tables. Tables are named
+ * Blackjack21.Game:type=Table,registry=&lt;registry&gt;,name=&lt;table&gt; and
+ * the totals Blackjack21.Game:type=Registry,name=&lt;registry&gt;. A table's
+ * round latencies are published as type=Latencies with the same registry and
+ * name. The registry can be used from any thread
+ */
+public class MetricsRegistry implements AutoCloseable
+{
+
+    public static final String DOMAIN = "Blackjack21.Game";
+
+    private final MBeanServer _server;
+    private final String _name;
+    private final ObjectName _totalsName;
+    private final Map<String, Table> _tables;
+
+    /**
+     * Initialize a registry on the platform MBean server
+     *
+     * @param name The registry's name
+     */
+    public MetricsRegistry(String name)
+    {
+        this(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    /**
+     * Initialize a registry and publish its totals
+     *
+     * @param server The MBean server to publish the metrics on
+     * @param name The registry's name
+     */
+    public MetricsRegistry(MBeanServer server, String name)
+    {
+        this._server = server;
+        this._name = name;
+        this._tables = new ConcurrentHashMap<>();
+        this._totalsName = objectName("type=Registry,name=" + ObjectName.quote(name));
+        this.registerMBean(new Totals(), this._totalsName);
+    }
+
+    /**
+     * Gets the registry's name
+     *
+     * @return
+     */
+    public String getName()
+    {
+        return this._name;
+    }
+
+    /**
+     * Start collecting a table's metrics and round latencies and publish them
+     *
+     * @param tableName The table's name, unique in the registry
+     * @param game The table
+     * @return Returns the table's metrics
+     */
+    public GameMetrics register(String tableName, BlackjackGame game)
+    {
+        GameMetrics metrics = new GameMetrics();
+        RoundLatencies latencies = new RoundLatencies();
+        String properties = "registry=" + ObjectName.quote(this._name) + ",name=" + ObjectName.quote(tableName);
+        Table table = new Table(game, metrics, latencies, objectName("type=Table," + properties), objectName("type=Latencies," + properties));
+        if (this._tables.putIfAbsent(tableName, table) != null)
+        {
+            throw new IllegalArgumentException("A table named " + tableName + " is already registered");
+        }
+
+        ObjectName registered = null;
+        try
+        {
+            this.registerMBean(metrics, table._objectName);
+            registered = table._objectName;
+            this.registerMBean(latencies, table._latenciesName);
+        }
+        catch (RuntimeException ex)
+        {
+            // free the name so the table can be registered again
+            this._tables.remove(tableName, table);
+            if (registered != null)
+            {
+                try
+                {
+                    this.unregisterMBean(registered);
+                }
+                catch (RuntimeException unregisterEx)
+                {
+                    ex.addSuppressed(unregisterEx);
+                }
+            }
+
+            throw ex;
+        }
+
+        game.setMonitor(metrics);
+        game.setLatencies(latencies);
+        return metrics;
+    }
+
+    /**
+     * Stop collecting a table's metrics and remove its MBeans, the table's
+     * counts are no longer part of the totals
+     *
+     * @param tableName The table's name
+     * @return Returns false if no table had the name
+     */
+    public boolean unregister(String tableName)
+    {
+        Table table = this._tables.remove(tableName);
+        if (table == null)
+        {
+            return false;
+        }
+
+        table._game.setMonitor(GameMonitor.DISABLED);
+        table._game.setLatencies(null);
+        this.unregisterMBean(table._objectName);
+        this.unregisterMBean(table._latenciesName);
+        return true;
+    }
+
+    /**
+     * Returns a table's metrics
+     *
+     * @param tableName The table's name
+     * @return Returns null if no table has the name
+     */
+    public GameMetrics getMetrics(String tableName)
+    {
+        Table table = this._tables.get(tableName);
+        return table == null ? null : table._metrics;
+    }
+
+    /**
+     * Returns a table's round latencies
+     *
+     * @param tableName The table's name
+     * @return Returns null if no table has the name
+     */
+    public RoundLatencies getLatencies(String tableName)
+    {
+        Table table = this._tables.get(tableName);
+        return table == null ? null : table._latencies;
+    }
+
+    /**
+     * Returns the totals of all registered tables
+     *
+     * @return
+     */
+    public GameMetrics getTotals()
+    {
+        List<GameMetrics> metrics = new ArrayList<>();
+        for (Table table : this._tables.values())
+        {
+            metrics.add(table._metrics);
+        }
+
+        return GameMetrics.sum(metrics);
+    }
+
+    /**
+     * Unregister every table and remove the registry's MBeans
+     */
+    @Override
+    public void close()
+    {
+        for (String tableName : this._tables.keySet())
+        {
+            this.unregister(tableName);
+        }
+
+        this.unregisterMBean(this._totalsName);
+    }
+
+    private static ObjectName objectName(String properties)
+    {
+        try
+        {
+            return new ObjectName(DOMAIN + ":" + properties);
+        }
+        catch (JMException ex)
+        {
+            throw new IllegalArgumentException("Invalid MBean name: " + properties, ex);
+        }
+    }
+
+    private void registerMBean(Object mbean, ObjectName objectName)
+    {
+        try
+        {
+            this._server.registerMBean(mbean, objectName);
+        }
+        catch (JMException ex)
+        {
+            throw new IllegalStateException("Could not register " + objectName, ex);
+        }
+    }
+
+    private void unregisterMBean(ObjectName objectName)
+    {
+        try
+        {
+            this._server.unregisterMBean(objectName);
+        }
+        catch (JMException ex)
+        {
+            throw new IllegalStateException("Could not unregister " + objectName, ex);
+        }
+    }
+
+    /**
+     * A registered table
+     */
+    private static class Table
+    {
+
+        private final BlackjackGame _game;
+        private final GameMetrics _metrics;
+        private final RoundLatencies _latencies;
+        private final ObjectName _objectName;
+        private final ObjectName _latenciesName;
+
+        Table(BlackjackGame game, GameMetrics metrics, RoundLatencies latencies, ObjectName objectName, ObjectName latenciesName)
+        {
+            this._game = game;
+            this._metrics = metrics;
+            this._latencies = latencies;
+            this._objectName = objectName;
+            this._latenciesName = latenciesName;
+        }
+
+    }
+
+    /**
+     * The totals MBean, every read adds up the tables' current counts
+     */
+    private class Totals implements GameMetricsMXBean
+    {
+
+        @Override
+        public long getRounds()
+        {
+            return getTotals().getRounds();
+        }
+
+        @Override
+        public double getRoundsPerSecond()
+        {
+            return getTotals().getRoundsPerSecond();
+        }
+
+        @Override
+        public long getShuffles()
+        {
+            return getTotals().getShuffles();
+        }
+
+        @Override
+        public double getShufflesPerHour()
+        {
+            return getTotals().getShufflesPerHour();
+        }
+
+        @Override
+        public long getCardsDealt()
+        {
+            return getTotals().getCardsDealt();
+        }
+
+        @Override
+        public double getAveragePenetration()
+        {
+            return getTotals().getAveragePenetration();
+        }
+
+        @Override
+        public long getDeckEmptyCount()
+        {
+            return getTotals().getDeckEmptyCount();
+        }
+
+        @Override
+        public double getDeckEmptyRate()
+        {
+            return getTotals().getDeckEmptyRate();
+        }
+
+        @Override
+        public long getDealerBlackjacks()
+        {
+            return getTotals().getDealerBlackjacks();
+        }
+
+        @Override
+        public long getDealerBusts()
+        {
+            return getTotals().getDealerBusts();
+        }
+
+        @Override
+        public double getPayout()
+        {
+            return getTotals().getPayout();
+        }
+
+        @Override
+        public Map<String, Long> getResultCounts()
+        {
+            return getTotals().getResultCounts();
+        }
+
+        @Override
+        public double getElapsedSeconds()
+        {
+            return getTotals().getElapsedSeconds();
+        }
+
+        @Override
+        public void reset()
+        {
+            for (Table table : _tables.values())
+            {
+                table._metrics.reset();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A player made their decisions
+ */
+@Name("Blackjack21.PlayerTurn")
+@Label("Player Turn")
+@Description("A player made their decisions")
+public final class PlayerTurnEvent extends TableEvent
+{
+
+    @Label("Player")
+    String playerName;
+
+    @Label("Hands")
+    int handCount;
+
+    @Label("Cards")
+    int cardCount;
+
+    private PlayerTurnEvent()
+    {
+    }
+
+    /**
+     * Begin timing the event
+     *
+     * @return Returns null if the event is not enabled
+     */
+    public static PlayerTurnEvent start()
+    {
+        if (!GameEvents.PLAYER_TURN.isEnabled())
+        {
+            return null;
+        }
+
+        PlayerTurnEvent event = new PlayerTurnEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the event and record it
+     *
+     * @param tableId The table's ID
+     * @param playerName The player's name
+     * @param handCount Number of hands the player finished with
+     * @param cardCount Number of cards in the player's hands
+     */
+    public void finish(long tableId, String playerName, int handCount, int cardCount)
+    {
+        this.tableId = tableId;
+        this.playerName = playerName;
+        this.handCount = handCount;
+        this.cardCount = cardCount;
+        this.commit();
+    }
+
+}
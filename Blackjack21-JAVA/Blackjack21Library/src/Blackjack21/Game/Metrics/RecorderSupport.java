@@ -0,0 +1,31 @@
+package Blackjack21.Game.Metrics;
+
+/**
+ * Tells if the flight recorder classes are available, Java 8 runtimes before
+ * 8u262 and runtimes built without the jdk.jfr module do not have them. The
+ * game checks AVAILABLE before it touches an event class, so without the
+ * flight recorder the events are skipped instead of failing to link
+ */
+public final class RecorderSupport
+{
+
+    public static final boolean AVAILABLE = isAvailable();
+
+    private RecorderSupport()
+    {
+    }
+
+    private static boolean isAvailable()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.Event", false, RecorderSupport.class.getClassLoader());
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError ex)
+        {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package Blackjack21.Game.Metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * The latency histograms of a table's round phases. The table records the
+ * time of each phase it plays, and any thread can take snapshots of the
+ * histograms while the table plays
+ */
+public class RoundLatencies implements RoundLatenciesMXBean
+{
+
+    private static final RoundPhase[] PHASES = RoundPhase.values();
+
+    private final LatencyHistogram[] _histograms;
+
+    /**
+     * Initialize empty histograms
+     */
+    public RoundLatencies()
+    {
+        this._histograms = new LatencyHistogram[PHASES.length];
+        for (int phase = 0; phase < PHASES.length; phase++)
+        {
+            this._histograms[phase] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Record the time of a phase
+     *
+     * @param phase The round phase
+     * @param nanos The phase's time in nanoseconds
+     */
+    public void record(RoundPhase phase, long nanos)
+    {
+        this._histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns the histogram of a phase
+     *
+     * @param phase The round phase
+     * @return
+     */
+    public LatencyHistogram getHistogram(RoundPhase phase)
+    {
+        return this._histograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the latencies of a phase since the last reset
+     *
+     * @param phase The round phase
+     * @return
+     */
+    public HistogramSnapshot getSnapshot(RoundPhase phase)
+    {
+        return this._histograms[phase.ordinal()].getSnapshot();
+    }
+
+    /**
+     * Returns the latencies of every phase since the last reset
+     *
+     * @return
+     */
+    public Map<RoundPhase, HistogramSnapshot> getSnapshots()
+    {
+        Map<RoundPhase, HistogramSnapshot> snapshots = new EnumMap<>(RoundPhase.class);
+        for (RoundPhase phase : PHASES)
+        {
+            snapshots.put(phase, this._histograms[phase.ordinal()].getSnapshot());
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * Returns the latencies of every phase since the last reset and reset the
+     * histograms
+     *
+     * @return
+     */
+    public Map<RoundPhase, HistogramSnapshot> getIntervalSnapshots()
+    {
+        Map<RoundPhase, HistogramSnapshot> snapshots = new EnumMap<>(RoundPhase.class);
+        for (RoundPhase phase : PHASES)
+        {
+            snapshots.put(phase, this._histograms[phase.ordinal()].getIntervalSnapshot());
+        }
+
+        return snapshots;
+    }
+
+    @Override
+    public Map<String, Long> getCounts()
+    {
+        return this.byPhase(HistogramSnapshot::getTotalCount);
+    }
+
+    @Override
+    public Map<String, Long> getP50()
+    {
+        return this.byPhase(HistogramSnapshot::getP50);
+    }
+
+    @Override
+    public Map<String, Long> getP99()
+    {
+        return this.byPhase(HistogramSnapshot::getP99);
+    }
+
+    @Override
+    public Map<String, Long> getP999()
+    {
+        return this.byPhase(HistogramSnapshot::getP999);
+    }
+
+    @Override
+    public Map<String, Long> getMax()
+    {
+        return this.byPhase(HistogramSnapshot::getMax);
+    }
+
+    /**
+     * Start every histogram from no latencies
+     */
+    @Override
+    public void reset()
+    {
+        for (LatencyHistogram histogram : this._histograms)
+        {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Returns a value of each phase's snapshot by phase name
+     *
+     * @param value The snapshot's value
+     * @return
+     */
+    private Map<String, Long> byPhase(ToLongFunction<HistogramSnapshot> value)
+    {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (RoundPhase phase : PHASES)
+        {
+            values.put(phase.name(), value.applyAsLong(this._histograms[phase.ordinal()].getSnapshot()));
+        }
+
+        return values;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        for (RoundPhase phase : PHASES)
+        {
+            builder.append(phase.name()).append(": ").append(this._histograms[phase.ordinal()].getSnapshot()).append('\n');
+        }
+
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,24 @@
+package Blackjack21.Game.Metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of a table's round latencies, each map holds a
+ * value in nanoseconds by phase name
+ */
+public interface RoundLatenciesMXBean
+{
+
+    Map<String, Long> getCounts();
+
+    Map<String, Long> getP50();
+
+    Map<String, Long> getP99();
+
+    Map<String, Long> getP999();
+
+    Map<String, Long> getMax();
+
+    void reset();
+
+}
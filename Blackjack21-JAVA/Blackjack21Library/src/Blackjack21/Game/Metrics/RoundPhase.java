@@ -0,0 +1,15 @@
+package Blackjack21.Game.Metrics;
+
+/**
+ * The phases of a round that are timed
+ */
+public enum RoundPhase
+{
+    ROUND, // A whole round, from newGame to its settlement
+    SHUFFLE, // Shuffling the shoe and burning cards, before or in a round
+    DEAL, // Dealing the initial cards
+    PLAYER_DECISIONS, // One player's turn
+    DEALER_HIT, // The dealer drawing to a standing total
+    SETTLEMENT, // Settling the hands against the dealer
+    RENDER // Rendering the table's state as text
+}
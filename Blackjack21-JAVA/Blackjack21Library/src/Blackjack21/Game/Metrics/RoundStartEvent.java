@@ -0,0 +1,63 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A new round was started, the shoe is shuffled first when it is due
+ */
+@Name("Blackjack21.RoundStart")
+@Label("Round Start")
+@Description("A new round was started, the shoe is shuffled first when it is due")
+public final class RoundStartEvent extends TableEvent
+{
+
+    @Label("Players")
+    int playerCount;
+
+    @Label("Shuffled")
+    boolean shuffled;
+
+    @Label("Cards Left")
+    int cardsLeft;
+
+    private RoundStartEvent()
+    {
+    }
+
+    /**
+     * Begin timing the event
+     *
+     * @return Returns null if the event is not enabled
+     */
+    public static RoundStartEvent start()
+    {
+        if (!GameEvents.ROUND_START.isEnabled())
+        {
+            return null;
+        }
+
+        RoundStartEvent event = new RoundStartEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the event and record it
+     *
+     * @param tableId The table's ID
+     * @param playerCount Number of players at the table
+     * @param shuffled Set if the shoe was shuffled
+     * @param cardsLeft Number of cards left in the shoe
+     */
+    public void finish(long tableId, int playerCount, boolean shuffled, int cardsLeft)
+    {
+        this.tableId = tableId;
+        this.playerCount = playerCount;
+        this.shuffled = shuffled;
+        this.cardsLeft = cardsLeft;
+        this.commit();
+    }
+
+}
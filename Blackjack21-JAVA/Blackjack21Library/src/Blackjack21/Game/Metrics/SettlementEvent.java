@@ -0,0 +1,59 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The round's hands were settled against the dealer
+ */
+@Name("Blackjack21.Settlement")
+@Label("Settlement")
+@Description("The round's hands were settled against the dealer")
+public final class SettlementEvent extends TableEvent
+{
+
+    @Label("Hands")
+    int handCount;
+
+    @Label("Payout")
+    @Description("Payout of the settled hands in half bet units")
+    int payout;
+
+    private SettlementEvent()
+    {
+    }
+
+    /**
+     * Begin timing the event
+     *
+     * @return Returns null if the event is not enabled
+     */
+    public static SettlementEvent start()
+    {
+        if (!GameEvents.SETTLEMENT.isEnabled())
+        {
+            return null;
+        }
+
+        SettlementEvent event = new SettlementEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the event and record it
+     *
+     * @param tableId The table's ID
+     * @param handCount Number of hands settled
+     * @param payout The payout of the hands in half bet units
+     */
+    public void finish(long tableId, int handCount, int payout)
+    {
+        this.tableId = tableId;
+        this.handCount = handCount;
+        this.payout = payout;
+        this.commit();
+    }
+
+}
@@ -0,0 +1,69 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The shoe was shuffled
+ */
+@Name("Blackjack21.Shuffle")
+@Label("Shuffle")
+@Description("The shoe was shuffled")
+public final class ShuffleEvent extends TableEvent
+{
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Shoe Size")
+    int shoeSize;
+
+    @Label("Cards Dealt")
+    int cardsDealt;
+
+    @Label("Mid Round")
+    boolean midRound;
+
+    private ShuffleEvent()
+    {
+    }
+
+    /**
+     * Begin timing the event
+     *
+     * @return Returns null if the event is not enabled
+     */
+    public static ShuffleEvent start()
+    {
+        if (!GameEvents.SHUFFLE.isEnabled())
+        {
+            return null;
+        }
+
+        ShuffleEvent event = new ShuffleEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the event and record it
+     *
+     * @param tableId The table's ID
+     * @param algorithm The shuffle algorithm
+     * @param shoeSize Number of cards in the shoe before the shuffle
+     * @param cardsDealt Number of cards dealt from the shoe before the shuffle
+     * @param midRound Set if the discards were shuffled in the middle of a
+     * round
+     */
+    public void finish(long tableId, String algorithm, int shoeSize, int cardsDealt, boolean midRound)
+    {
+        this.tableId = tableId;
+        this.algorithm = algorithm;
+        this.shoeSize = shoeSize;
+        this.cardsDealt = cardsDealt;
+        this.midRound = midRound;
+        this.commit();
+    }
+
+}
@@ -0,0 +1,22 @@
+package Blackjack21.Game.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event of a table, the events are disabled until a
+ * recording enables them by name
+ */
+@Category("Blackjack21")
+@Enabled(false)
+@StackTrace(false)
+abstract class TableEvent extends Event
+{
+
+    @Label("Table ID")
+    long tableId;
+
+}
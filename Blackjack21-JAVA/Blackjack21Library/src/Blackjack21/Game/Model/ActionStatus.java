@@ -0,0 +1,12 @@
+package Blackjack21.Game.Model;
+
+/**
+ * The status of a player action attempted without exceptions
+ */
+public enum ActionStatus
+{
+    OK, // The action was performed
+    NOT_ALLOWED, // The hand does not meet the conditions for the action
+    HAND_NOT_SPLIT, // The action targets a split hand but the player has not split
+    DECK_EMPTY // The deck ran out of cards
+}
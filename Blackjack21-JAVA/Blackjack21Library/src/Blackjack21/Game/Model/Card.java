@@ -1,48 +1,125 @@
 package Blackjack21.Game.Model;
 
+import Blackjack21.Game.Helper.EncodedText;
+import java.io.IOException;
+
 /**
  * Blackjack Card Object
  */
 public class Card
 {
 
-    private CardType _cardType = CardType.ACE;
-    private CardSymbol _cardSymbol = CardSymbol.CLUBS;
-    private int _cardValue = 0;
+    public static final int CARD_TYPE_COUNT = 13;
+    public static final int CARD_SYMBOL_COUNT = 4;
+    // Card ranks by value, from 0 for an ace to 9 for the ten value cards
+    public static final int CARD_RANK_COUNT = 10;
+
+    // One shared instance for each of the 52 cards, indexed by type and symbol
+    private static final Card[] CARDS = new Card[CARD_TYPE_COUNT * CARD_SYMBOL_COUNT];
+    private static final CardType[] CARD_TYPES = CardType.values();
+    private static final CardSymbol[] CARD_SYMBOLS = CardSymbol.values();
+
+    static
+    {
+        for (int typeCount = 1; typeCount <= CARD_TYPE_COUNT; typeCount++)
+        {
+            for (int symbolCount = 1; symbolCount <= CARD_SYMBOL_COUNT; symbolCount++)
+            {
+                CARDS[tableIndex(typeCount, symbolCount)] = new Card(CARD_TYPES[typeCount], CARD_SYMBOLS[symbolCount]);
+            }
+        }
+    }
+
+    private final CardType _cardType;
+    private final CardSymbol _cardSymbol;
+    private final int _cardValue;
+    private final int _cardCode;
+    // The card's name, built and encoded once so rendering a card does not
+    // build it
+    private final EncodedText _name;
 
     /**
-     * Initialize the card based on input parameters
+     * Initialize the card based on input parameters, use Card.of to get the
+     * shared instance of a card instead
      *
      * @param cardType Set Card Type
      * @param cardSymbol Set Card Symbol
      */
     public Card(CardType cardType, CardSymbol cardSymbol)
     {
-        setCard(cardType, cardSymbol);
+        this._cardSymbol = cardSymbol;
+        this._cardType = cardType;
+        this._cardValue = cardValue(cardType);
+        this._cardCode = cardType == CardType.NONE || cardSymbol == CardSymbol.NONE ? -1 : tableIndex(cardType.ordinal(), cardSymbol.ordinal());
+        this._name = new EncodedText(cardName(cardType, cardSymbol));
     }
 
     /**
-     * initialize the card based on number parameters inputs
+     * initialize the card based on number parameters inputs, use Card.of to
+     * get the shared instance of a card instead
      *
      * @param cardType Set Card Type
      * @param cardSymbol Set Card Color
      */
     public Card(int cardType, int cardSymbol)
     {
-        setCard(CardType.values()[cardType], CardSymbol.values()[cardSymbol]);
+        this(CARD_TYPES[cardType], CARD_SYMBOLS[cardSymbol]);
     }
 
     /**
-     * Set cards identity and calculate the value of the card
+     * Returns the shared card instance for a card type and symbol, cards
+     * returned by this method can be compared by identity
      *
-     * @param cardType
-     * @param cardSymbol
+     * @param cardType Card Type
+     * @param cardSymbol Card Symbol
+     * @return Returns the card, a new card is created if the type or symbol is
+     * NONE
      */
-    private void setCard(CardType cardType, CardSymbol cardSymbol)
+    public static Card of(CardType cardType, CardSymbol cardSymbol)
     {
-        this._cardSymbol = cardSymbol;
-        this._cardType = cardType;
-        setCardValue();
+        return of(cardType.ordinal(), cardSymbol.ordinal());
+    }
+
+    /**
+     * Returns the shared card instance using the ordinal values of the card
+     * type and symbol
+     *
+     * @param cardType Card Type ordinal
+     * @param cardSymbol Card Symbol ordinal
+     * @return Returns the card, a new card is created if the type or symbol is
+     * NONE
+     */
+    public static Card of(int cardType, int cardSymbol)
+    {
+        if (cardType == 0 || cardSymbol == 0)
+        {
+            return new Card(cardType, cardSymbol);
+        }
+
+        return CARDS[tableIndex(cardType, cardSymbol)];
+    }
+
+    /**
+     * Returns the shared card instance for a card code
+     *
+     * @param cardCode The card code, see getCardCode
+     * @return
+     */
+    public static Card fromCode(int cardCode)
+    {
+        return CARDS[cardCode];
+    }
+
+    /**
+     * Returns the shared card table index of a card
+     *
+     * @param cardType Card Type ordinal, starting at 1
+     * @param cardSymbol Card Symbol ordinal, starting at 1
+     * @return
+     */
+    private static int tableIndex(int cardType, int cardSymbol)
+    {
+        return (cardType - 1) * CARD_SYMBOL_COUNT + (cardSymbol - 1);
     }
 
     /**
@@ -75,6 +152,18 @@ public class Card
         return this._cardValue;
     }
 
+    /**
+     * Returns the card's compact code, the card type index multiplied by 4 plus
+     * the card symbol index, both starting at zero. Cards with a NONE type or
+     * symbol return -1
+     *
+     * @return return the card code between 0 and 51
+     */
+    public int getCardCode()
+    {
+        return this._cardCode;
+    }
+
     /**
      * Compare if the card is the same type as this card
      *
@@ -87,26 +176,30 @@ public class Card
     }
 
     /**
-     * Set card's value
+     * Calculate a card type's value
+     *
+     * @param cardType
+     * @return
      */
-    private void setCardValue()
+    private static int cardValue(CardType cardType)
     {
-        int cardTypeInt = ((Enum) this._cardType).ordinal();
+        int cardTypeInt = cardType.ordinal();
         // if the card type value is over 10 count it as 10
-        this._cardValue = cardTypeInt > 9 ? 10 : cardTypeInt;
+        return cardTypeInt > 9 ? 10 : cardTypeInt;
     }
 
     /**
-     * Returns the card as a string value
+     * Build a card's name
      *
-     * @return return the string value of the card
+     * @param cardType The card's type
+     * @param cardSymbol The card's symbol
+     * @return
      */
-    @Override
-    public String toString()
+    private static String cardName(CardType cardType, CardSymbol cardSymbol)
     {
 
         String cardName = "";
-        switch (this.getCardType())
+        switch (cardType)
         {
             case ACE:
                 cardName = "ACE OF ";
@@ -149,7 +242,7 @@ public class Card
                 break;
 
         }
-        switch (this._cardSymbol)
+        switch (cardSymbol)
         {
             case CLUBS:
                 cardName += "CLUBS";
@@ -169,4 +262,27 @@ public class Card
 
     }
 
+    /**
+     * Append the card's name, a byte buffer gets the name's precomputed bytes
+     *
+     * @param out The appendable to write to
+     * @return Returns the appendable
+     * @throws IOException
+     */
+    public Appendable appendTo(Appendable out) throws IOException
+    {
+        return this._name.appendTo(out);
+    }
+
+    /**
+     * Returns the card as a string value
+     *
+     * @return return the string value of the card
+     */
+    @Override
+    public String toString()
+    {
+        return this._name.toString();
+    }
+
 }
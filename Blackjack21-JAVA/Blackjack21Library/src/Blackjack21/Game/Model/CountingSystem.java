@@ -0,0 +1,145 @@
+package Blackjack21.Game.Model;
+
+import java.util.Arrays;
+
+/**
+ * A card counting system, the count each card rank adds to the running count.
+ * <p>
+ * A balanced system's tags add up to 0 over a deck and its running count
+ * starts at 0. An unbalanced system starts at the negative of its extra count
+ * for every deck but one, as the KO count does, so the count ends at the
+ * extra count of a single deck
+ */
+public class CountingSystem
+{
+
+    public static final CountingSystem HI_LO = new CountingSystem("Hi-Lo", new int[]
+    {
+        -1, 1, 1, 1, 1, 1, 0, 0, 0, -1
+    });
+    public static final CountingSystem KO = new CountingSystem("KO", new int[]
+    {
+        -1, 1, 1, 1, 1, 1, 1, 0, 0, -1
+    });
+    public static final CountingSystem OMEGA_II = new CountingSystem("Omega II", new int[]
+    {
+        0, 1, 1, 2, 2, 2, 1, 0, -1, -2
+    });
+    public static final CountingSystem ZEN = new CountingSystem("Zen", new int[]
+    {
+        -1, 1, 1, 2, 2, 2, 1, 0, 0, -2
+    });
+
+    private static final int CARD_CODE_COUNT = Card.CARD_TYPE_COUNT * Card.CARD_SYMBOL_COUNT;
+
+    private final String _name;
+    private final int[] _rankTags;
+    private final byte[] _cardTags;
+    // the count a full deck adds, 0 for a balanced system
+    private final int _deckTotal;
+
+    /**
+     * Initialize a counting system
+     *
+     * @param name The system's name
+     * @param rankTags The count of each rank, from 0 for an ace to 9 for the
+     * ten value cards
+     */
+    public CountingSystem(String name, int[] rankTags)
+    {
+        if (rankTags == null || rankTags.length != Card.CARD_RANK_COUNT)
+        {
+            throw new IllegalArgumentException("A counting system needs a tag for each of the " + Card.CARD_RANK_COUNT + " ranks");
+        }
+
+        this._name = name;
+        this._rankTags = Arrays.copyOf(rankTags, rankTags.length);
+        this._cardTags = new byte[CARD_CODE_COUNT];
+        int deckTotal = 0;
+        for (int cardCode = 0; cardCode < CARD_CODE_COUNT; cardCode++)
+        {
+            int tag = rankTags[Math.min(cardCode / Card.CARD_SYMBOL_COUNT, Card.CARD_RANK_COUNT - 1)];
+            if (tag < Byte.MIN_VALUE || tag > Byte.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("Tag out of range: " + tag);
+            }
+
+            this._cardTags[cardCode] = (byte) tag;
+            deckTotal += tag;
+        }
+
+        this._deckTotal = deckTotal;
+    }
+
+    /**
+     * Gets the system's name
+     *
+     * @return
+     */
+    public String getName()
+    {
+        return this._name;
+    }
+
+    /**
+     * Returns the count of a rank
+     *
+     * @param rank The rank, from 0 for an ace to 9 for the ten value cards
+     * @return
+     */
+    public int getRankTag(int rank)
+    {
+        return this._rankTags[rank];
+    }
+
+    /**
+     * Returns the count of a card
+     *
+     * @param card The card
+     * @return
+     */
+    public int getCardTag(Card card)
+    {
+        return this._cardTags[card.getCardCode()];
+    }
+
+    /**
+     * Returns the count of a card code, a single lookup in the system's table
+     * of tags by card code
+     *
+     * @param cardCode The card code, see Card.getCardCode
+     * @return
+     */
+    public int getCardTag(int cardCode)
+    {
+        return this._cardTags[cardCode];
+    }
+
+    /**
+     * Gets if the tags of a deck add up to 0
+     *
+     * @return
+     */
+    public boolean getIsBalanced()
+    {
+        return this._deckTotal == 0;
+    }
+
+    /**
+     * Returns the running count of a freshly shuffled shoe
+     *
+     * @param deckCount Number of decks in the shoe
+     * @return
+     */
+    public int getInitialCount(int deckCount)
+    {
+        return -this._deckTotal * Math.max(deckCount - 1, 0);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this._name;
+    }
+
+}
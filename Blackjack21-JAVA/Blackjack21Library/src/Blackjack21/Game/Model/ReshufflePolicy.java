@@ -0,0 +1,111 @@
+package Blackjack21.Game.Model;
+
+/**
+ * When a table shuffles its shoe. A cut card is placed at a penetration, the
+ * share of the shoe dealt before the shoe is shuffled at the start of the next
+ * round, and a number of cards are burnt after every shuffle. A shoe that runs
+ * out in the middle of a round can be continued by shuffling the discarded
+ * cards, keeping the cards in play out of the shuffle.
+ * <p>
+ * The default policy is the game's original rule, the shoe is dealt out and
+ * shuffled once few cards are left. Policies cannot be changed, so one policy
+ * can be shared by many tables
+ */
+public class ReshufflePolicy
+{
+
+    public static final ReshufflePolicy DEFAULT = new ReshufflePolicy(1, 0, false);
+
+    private final double _penetration;
+    private final int _burnCards;
+    private final boolean _reshuffleMidRound;
+
+    /**
+     * Initialize a policy
+     *
+     * @param penetration The share of the shoe dealt before the cut card, from
+     * above 0 to 1 for no cut card
+     * @param burnCards Number of cards burnt after a shuffle
+     * @param reshuffleMidRound Set to shuffle the discards when the shoe runs
+     * out in the middle of a round
+     */
+    public ReshufflePolicy(double penetration, int burnCards, boolean reshuffleMidRound)
+    {
+        if (!(penetration > 0 && penetration <= 1))
+        {
+            throw new IllegalArgumentException("Penetration must be above 0 and at most 1");
+        }
+
+        if (burnCards < 0)
+        {
+            throw new IllegalArgumentException("Burn card count cannot be negative");
+        }
+
+        this._penetration = penetration;
+        this._burnCards = burnCards;
+        this._reshuffleMidRound = reshuffleMidRound;
+    }
+
+    /**
+     * Gets the share of the shoe dealt before the cut card
+     *
+     * @return
+     */
+    public double getPenetration()
+    {
+        return this._penetration;
+    }
+
+    /**
+     * Gets the number of cards burnt after a shuffle
+     *
+     * @return
+     */
+    public int getBurnCards()
+    {
+        return this._burnCards;
+    }
+
+    /**
+     * Gets if the discards are shuffled when the shoe runs out in the middle
+     * of a round
+     *
+     * @return
+     */
+    public boolean getReshuffleMidRound()
+    {
+        return this._reshuffleMidRound;
+    }
+
+    /**
+     * Returns the number of cards dealt from a shoe when the cut card comes
+     * out
+     *
+     * @param shoeSize Number of cards in the shoe
+     * @return
+     */
+    public int getCutCardPosition(int shoeSize)
+    {
+        return (int) Math.round(shoeSize * this._penetration);
+    }
+
+    /**
+     * Returns if the cut card has come out of a shoe
+     *
+     * @param cardsDealt Number of cards dealt from the shoe
+     * @param shoeSize Number of cards in the shoe
+     * @return
+     */
+    public boolean getIsCutCardReached(int cardsDealt, int shoeSize)
+    {
+        return cardsDealt >= this.getCutCardPosition(shoeSize);
+    }
+
+    @Override
+    public String toString()
+    {
+        String result = String.format("penetration %.0f%%, %d burn cards", this._penetration * 100, this._burnCards);
+        return this._reshuffleMidRound ? result + ", mid round reshuffle" : result;
+    }
+
+}
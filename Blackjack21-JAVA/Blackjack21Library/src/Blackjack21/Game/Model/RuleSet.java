@@ -0,0 +1,175 @@
+package Blackjack21.Game.Model;
+
+/**
+ * The table rules a strategy is generated for, the defaults are the rules
+ * played by the game
+ */
+public class RuleSet
+{
+
+    private int _deckCount;
+    private boolean _dealerHitsSoft17;
+    private int _doubleMinimum;
+    private int _doubleMaximum;
+    private boolean _doubleAfterSplit;
+    private boolean _canFold;
+
+    /**
+     * Initialize the game's rules for a number of decks
+     *
+     * @param deckCount Number of decks in the shoe
+     */
+    public RuleSet(int deckCount)
+    {
+        this.setDeckCount(deckCount);
+        this._dealerHitsSoft17 = false;
+        this._doubleMinimum = 9;
+        this._doubleMaximum = 11;
+        this._doubleAfterSplit = true;
+        this._canFold = true;
+    }
+
+    /**
+     * Gets the number of decks in the shoe
+     *
+     * @return
+     */
+    public int getDeckCount()
+    {
+        return this._deckCount;
+    }
+
+    /**
+     * Sets the number of decks in the shoe
+     *
+     * @param deckCount Number of decks
+     */
+    public void setDeckCount(int deckCount)
+    {
+        if (deckCount < 1)
+        {
+            throw new IllegalArgumentException("Deck count must be positive");
+        }
+
+        this._deckCount = deckCount;
+    }
+
+    /**
+     * Gets if the dealer hits a soft 17
+     *
+     * @return
+     */
+    public boolean getDealerHitsSoft17()
+    {
+        return this._dealerHitsSoft17;
+    }
+
+    /**
+     * Sets if the dealer hits a soft 17
+     *
+     * @param dealerHitsSoft17
+     */
+    public void setDealerHitsSoft17(boolean dealerHitsSoft17)
+    {
+        this._dealerHitsSoft17 = dealerHitsSoft17;
+    }
+
+    /**
+     * Gets the lowest two card total that can be doubled
+     *
+     * @return
+     */
+    public int getDoubleMinimum()
+    {
+        return this._doubleMinimum;
+    }
+
+    /**
+     * Gets the highest two card total that can be doubled
+     *
+     * @return
+     */
+    public int getDoubleMaximum()
+    {
+        return this._doubleMaximum;
+    }
+
+    /**
+     * Sets the two card totals that can be doubled
+     *
+     * @param doubleMinimum The lowest total
+     * @param doubleMaximum The highest total
+     */
+    public void setDoubleRange(int doubleMinimum, int doubleMaximum)
+    {
+        if (doubleMinimum > doubleMaximum)
+        {
+            throw new IllegalArgumentException("Double minimum is above the maximum");
+        }
+
+        this._doubleMinimum = doubleMinimum;
+        this._doubleMaximum = doubleMaximum;
+    }
+
+    /**
+     * Gets if a two card total can be doubled
+     *
+     * @param total The hand total
+     * @return
+     */
+    public boolean getCanDouble(int total)
+    {
+        return total >= this._doubleMinimum && total <= this._doubleMaximum;
+    }
+
+    /**
+     * Gets if split hands can be doubled
+     *
+     * @return
+     */
+    public boolean getDoubleAfterSplit()
+    {
+        return this._doubleAfterSplit;
+    }
+
+    /**
+     * Sets if split hands can be doubled
+     *
+     * @param doubleAfterSplit
+     */
+    public void setDoubleAfterSplit(boolean doubleAfterSplit)
+    {
+        this._doubleAfterSplit = doubleAfterSplit;
+    }
+
+    /**
+     * Gets if a two card hand can be folded for half the bet
+     *
+     * @return
+     */
+    public boolean getCanFold()
+    {
+        return this._canFold;
+    }
+
+    /**
+     * Sets if a two card hand can be folded for half the bet
+     *
+     * @param canFold
+     */
+    public void setCanFold(boolean canFold)
+    {
+        this._canFold = canFold;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this._deckCount + (this._deckCount == 1 ? " deck" : " decks")
+                + (this._dealerHitsSoft17 ? ", dealer hits soft 17" : ", dealer stands on 17")
+                + ", double " + this._doubleMinimum + " to " + this._doubleMaximum
+                + (this._doubleAfterSplit ? ", double after split" : "")
+                + (this._canFold ? ", fold" : "");
+    }
+
+}
@@ -0,0 +1,12 @@
+package Blackjack21.Game.Model;
+
+/**
+ * Shuffle algorithm used by the card deck
+ */
+public enum ShuffleType
+{
+    FISHER_YATES, // Uniform in place swap shuffle
+    CASINO, // Riffle, strip and cut sequence as done by a dealer
+    ORDERED, // Leave the cards in their current order, used for testing
+    CUSTOM // A user supplied shuffle strategy
+}
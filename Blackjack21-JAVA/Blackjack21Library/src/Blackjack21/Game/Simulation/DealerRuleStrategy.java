@@ -0,0 +1,41 @@
+package Blackjack21.Game.Simulation;
+
+import Blackjack21.Game.Logic.Player;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
+
+/**
+ * A strategy that plays like the dealer, hitting until the hand reaches a
+ * minimum value
+ */
+public class DealerRuleStrategy implements DecisionStrategy
+{
+
+    private final int _standValue;
+
+    /**
+     * Initialize the strategy to stand on 17
+     */
+    public DealerRuleStrategy()
+    {
+        this(17);
+    }
+
+    /**
+     * Initialize the strategy
+     *
+     * @param standValue The lowest hand value to stand on
+     */
+    public DealerRuleStrategy(int standValue)
+    {
+        this._standValue = standValue;
+    }
+
+    @Override
+    public PlayerHandAction decide(Player player, PlayerHand hand, boolean splitHand, Card dealerCard)
+    {
+        return hand.getHandValue() < this._standValue ? PlayerHandAction.HIT : PlayerHandAction.STAND;
+    }
+
+}
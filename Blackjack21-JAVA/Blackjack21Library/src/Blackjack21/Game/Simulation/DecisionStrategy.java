@@ -0,0 +1,26 @@
+package Blackjack21.Game.Simulation;
+
+import Blackjack21.Game.Logic.Player;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
+
+/**
+ * Decides the actions of a player's hand during a simulated round
+ */
+public interface DecisionStrategy
+{
+
+    /**
+     * Select the next action for a hand. The simulator plays a DOUBLE, FOLD or
+     * SPLIT that is not allowed as a HIT, and NONE as a STAND
+     *
+     * @param player The player who owns the hand
+     * @param hand The hand to play
+     * @param splitHand Set if the hand is the player's split hand
+     * @param dealerCard The dealer's face up card
+     * @return Returns the action to perform
+     */
+    PlayerHandAction decide(Player player, PlayerHand hand, boolean splitHand, Card dealerCard);
+
+}
@@ -0,0 +1,161 @@
+package Blackjack21.Game.Simulation;
+
+import Blackjack21.Game.Helper.RandomSource;
+import Blackjack21.Game.Helper.SplittableRandomSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a round simulation across several threads. The rounds are split into
+ * fixed size batches, each batch plays on its own table with its own random
+ * stream split from the seed, and the batch statistics are merged at the end.
+ * The batches do not depend on the number of threads, so a seed always gives
+ * the same results
+ */
+public class ParallelSimulation
+{
+
+    public static final int DEFAULT_BATCH_ROUNDS = 100000;
+
+    private final TableFactory _tableFactory;
+    private final DecisionStrategy _strategy;
+    private final long _seed;
+    private int _batchRounds;
+
+    /**
+     * Initialize the simulation
+     *
+     * @param tableFactory Creates a table for each batch
+     * @param strategy The strategy used for every player's decisions, it is
+     * shared by all threads and must not keep state
+     * @param seed The simulation seed
+     */
+    public ParallelSimulation(TableFactory tableFactory, DecisionStrategy strategy, long seed)
+    {
+        this._tableFactory = tableFactory;
+        this._strategy = strategy;
+        this._seed = seed;
+        this._batchRounds = DEFAULT_BATCH_ROUNDS;
+    }
+
+    /**
+     * Gets the number of rounds played by each batch
+     *
+     * @return
+     */
+    public int getBatchRounds()
+    {
+        return this._batchRounds;
+    }
+
+    /**
+     * Sets the number of rounds played by each batch, results are only
+     * reproducible when the batch size is the same
+     *
+     * @param batchRounds Number of rounds per batch
+     */
+    public void setBatchRounds(int batchRounds)
+    {
+        if (batchRounds <= 0)
+        {
+            throw new IllegalArgumentException("Batch rounds must be positive");
+        }
+
+        this._batchRounds = batchRounds;
+    }
+
+    /**
+     * Play the rounds on the common fork join pool
+     *
+     * @param rounds Number of rounds to play
+     * @return Returns the merged statistics
+     * @throws java.lang.InterruptedException
+     * @throws java.util.concurrent.ExecutionException
+     */
+    public SimulationStatistics run(long rounds) throws InterruptedException, ExecutionException
+    {
+        return run(rounds, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Play the rounds on a number of threads
+     *
+     * @param rounds Number of rounds to play
+     * @param threads Number of worker threads
+     * @return Returns the merged statistics
+     * @throws java.lang.InterruptedException
+     * @throws java.util.concurrent.ExecutionException
+     */
+    public SimulationStatistics run(long rounds, int threads) throws InterruptedException, ExecutionException
+    {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try
+        {
+            return run(rounds, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Play the rounds on an executor
+     *
+     * @param rounds Number of rounds to play
+     * @param executor The executor running the batches
+     * @return Returns the merged statistics
+     * @throws java.lang.InterruptedException
+     * @throws java.util.concurrent.ExecutionException
+     */
+    public SimulationStatistics run(long rounds, ExecutorService executor) throws InterruptedException, ExecutionException
+    {
+        // split the random streams in batch order before any batch runs
+        RandomSource random = new SplittableRandomSource(this._seed);
+        List<Callable<SimulationStatistics>> batches = new ArrayList<>();
+        for (long start = 0; start < rounds; start += this._batchRounds)
+        {
+            batches.add(new Batch(random.split(), Math.min(this._batchRounds, rounds - start)));
+        }
+
+        SimulationStatistics statistics = new SimulationStatistics();
+        for (Future<SimulationStatistics> batch : executor.invokeAll(batches))
+        {
+            statistics.merge(batch.get());
+        }
+
+        return statistics;
+    }
+
+    /**
+     * A batch of rounds played on its own table
+     */
+    private class Batch implements Callable<SimulationStatistics>
+    {
+
+        private final RandomSource _random;
+        private final long _rounds;
+
+        Batch(RandomSource random, long rounds)
+        {
+            this._random = random;
+            this._rounds = rounds;
+        }
+
+        @Override
+        public SimulationStatistics call()
+        {
+            SimulationStatistics statistics = new SimulationStatistics();
+            RoundSimulator simulator = new RoundSimulator(_tableFactory.createTable(this._random), _strategy);
+            simulator.run(this._rounds, statistics);
+            return statistics;
+        }
+
+    }
+
+}
@@ -0,0 +1,190 @@
+package Blackjack21.Game.Simulation;
+
+import Blackjack21.Game.BlackjackGame;
+import Blackjack21.Game.Exceptions.DeckEmptyException;
+import Blackjack21.Game.Logic.Player;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.ActionStatus;
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
+
+/**
+ * Plays complete rounds of blackjack without a user interface. Each round
+ * follows the console game: the cards are dealt, every player makes their
+ * decisions unless the dealer has a blackjack, the dealer draws and the round
+ * is settled. A table whose reshuffle policy allows mid round reshuffles
+ * never runs out of cards in a round
+ */
+public class RoundSimulator
+{
+
+    private final BlackjackGame _game;
+    private final DecisionStrategy _strategy;
+
+    /**
+     * Initialize the simulator, the game's deck and players must be set up
+     * before rounds are played
+     *
+     * @param game The game to play
+     * @param strategy The strategy used for every player's decisions
+     */
+    public RoundSimulator(BlackjackGame game, DecisionStrategy strategy)
+    {
+        this._game = game;
+        this._strategy = strategy;
+    }
+
+    /**
+     * Gets the simulated game
+     *
+     * @return
+     */
+    public BlackjackGame getGame()
+    {
+        return this._game;
+    }
+
+    /**
+     * Play a number of rounds and add their outcomes to the statistics
+     *
+     * @param rounds Number of rounds to play
+     * @param statistics Statistics the outcomes are added to
+     */
+    public void run(long rounds, SimulationStatistics statistics)
+    {
+        for (long round = 0; round < rounds; round++)
+        {
+            playRound(statistics);
+        }
+    }
+
+    /**
+     * Play one round and add its outcome to the statistics, a round that runs
+     * out of cards is abandoned and the deck is shuffled
+     *
+     * @param statistics Statistics the outcome is added to
+     * @return Returns false if the round was abandoned
+     */
+    public boolean playRound(SimulationStatistics statistics)
+    {
+        BlackjackGame game = this._game;
+        try
+        {
+            game.newGame();
+            game.dealCards();
+            PlayerHand dealerHand = game.getDealer().getFirstHand();
+            if (!dealerHand.getIsBlackjack())
+            {
+                Card dealerCard = dealerHand.getCard(0);
+                for (int seat = 0; seat < game.getSeatCount(); seat++)
+                {
+                    Player player = game.tryGetGamePlayer(seat);
+                    if (player == null)
+                    {
+                        continue;
+                    }
+
+                    game.startPlayerTurn(player);
+                    if (!playPlayer(player, dealerCard))
+                    {
+                        throw new DeckEmptyException();
+                    }
+
+                    game.finishPlayerTurn(player);
+                }
+
+                game.dealerHit();
+            }
+        }
+        catch (DeckEmptyException ex)
+        {
+            statistics.recordAbortedRound();
+            game.shuffleShoe();
+            return false;
+        }
+
+        game.concludeRound(null);
+        statistics.recordRound();
+        for (int seat = 0; seat < game.getSeatCount(); seat++)
+        {
+            Player player = game.tryGetGamePlayer(seat);
+            if (player != null)
+            {
+                statistics.recordHand(player.getFirstHand());
+                PlayerHand splitHand = player.tryGetSplitHand();
+                if (splitHand != null)
+                {
+                    statistics.recordHand(splitHand);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Play the hands of one player
+     *
+     * @param player The player
+     * @param dealerCard The dealer's face up card
+     * @return Returns false if the deck ran out of cards
+     */
+    private boolean playPlayer(Player player, Card dealerCard)
+    {
+        if (player.getFirstHand().getIsBlackjack())
+        {
+            return true;
+        }
+
+        if (!playHand(player, false, dealerCard))
+        {
+            return false;
+        }
+
+        return player.tryGetSplitHand() == null || playHand(player, true, dealerCard);
+    }
+
+    /**
+     * Ask the strategy for actions until the hand is finished
+     *
+     * @param player The player who owns the hand
+     * @param splitHand Set to play the player's split hand
+     * @param dealerCard The dealer's face up card
+     * @return Returns false if the deck ran out of cards
+     */
+    private boolean playHand(Player player, boolean splitHand, Card dealerCard)
+    {
+        while (true)
+        {
+            PlayerHand hand = splitHand ? player.tryGetSplitHand() : player.getFirstHand();
+            if (hand.getHandValue() >= PlayerHand.MAX_HAND_VALUE)
+            {
+                return true;
+            }
+
+            PlayerHandAction action = this._strategy.decide(player, hand, splitHand, dealerCard);
+            if (action == PlayerHandAction.NONE)
+            {
+                action = PlayerHandAction.STAND;
+            }
+
+            ActionStatus status = this._game.tryAct(player, action, splitHand);
+            if (status == ActionStatus.NOT_ALLOWED)
+            {
+                action = PlayerHandAction.HIT;
+                status = this._game.tryAct(player, action, splitHand);
+            }
+
+            if (status == ActionStatus.DECK_EMPTY)
+            {
+                return false;
+            }
+
+            if (action != PlayerHandAction.HIT && action != PlayerHandAction.SPLIT)
+            {
+                return true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,278 @@
+package Blackjack21.Game.Simulation;
+
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.PlayerHandAction;
+import Blackjack21.Game.Model.PlayerHandResult;
+
+/**
+ * Outcome counts collected by a round simulation. Payouts are kept in whole
+ * half bet units so statistics merged in any order give identical totals
+ */
+public class SimulationStatistics
+{
+
+    private static final PlayerHandResult[] RESULTS = PlayerHandResult.values();
+    private static final PlayerHandAction[] ACTIONS = PlayerHandAction.values();
+
+    private long _rounds;
+    private long _abortedRounds;
+    private long _hands;
+    private long _payout;
+    private long _payoutSquares;
+    private final long[] _resultCounts;
+    private final long[] _resultPayouts;
+    private final long[] _resultPayoutSquares;
+    private final long[] _actionCounts;
+    private final long[] _actionPayouts;
+    private final long[] _actionPayoutSquares;
+
+    /**
+     * Initialize empty statistics
+     */
+    public SimulationStatistics()
+    {
+        this._resultCounts = new long[RESULTS.length];
+        this._resultPayouts = new long[RESULTS.length];
+        this._resultPayoutSquares = new long[RESULTS.length];
+        this._actionCounts = new long[ACTIONS.length];
+        this._actionPayouts = new long[ACTIONS.length];
+        this._actionPayoutSquares = new long[ACTIONS.length];
+    }
+
+    /**
+     * Add the statistics of another simulation to these statistics
+     *
+     * @param statistics The statistics to add
+     */
+    public void merge(SimulationStatistics statistics)
+    {
+        this._rounds += statistics._rounds;
+        this._abortedRounds += statistics._abortedRounds;
+        this._hands += statistics._hands;
+        this._payout += statistics._payout;
+        this._payoutSquares += statistics._payoutSquares;
+        add(this._resultCounts, statistics._resultCounts);
+        add(this._resultPayouts, statistics._resultPayouts);
+        add(this._resultPayoutSquares, statistics._resultPayoutSquares);
+        add(this._actionCounts, statistics._actionCounts);
+        add(this._actionPayouts, statistics._actionPayouts);
+        add(this._actionPayoutSquares, statistics._actionPayoutSquares);
+    }
+
+    private static void add(long[] target, long[] values)
+    {
+        for (int x = 0; x < target.length; x++)
+        {
+            target[x] += values[x];
+        }
+    }
+
+    /**
+     * Record a completed round
+     */
+    void recordRound()
+    {
+        this._rounds++;
+    }
+
+    /**
+     * Record a round that was abandoned because the deck ran out of cards
+     */
+    void recordAbortedRound()
+    {
+        this._abortedRounds++;
+    }
+
+    /**
+     * Record a settled hand
+     *
+     * @param hand The settled hand
+     */
+    void recordHand(PlayerHand hand)
+    {
+        long payout = hand.getHandPayout();
+        long payoutSquare = payout * payout;
+        int result = hand.getHandResult().ordinal();
+        int action = hand.getHandAction().ordinal();
+        this._hands++;
+        this._payout += payout;
+        this._payoutSquares += payoutSquare;
+        this._resultCounts[result]++;
+        this._resultPayouts[result] += payout;
+        this._resultPayoutSquares[result] += payoutSquare;
+        this._actionCounts[action]++;
+        this._actionPayouts[action] += payout;
+        this._actionPayoutSquares[action] += payoutSquare;
+    }
+
+    /**
+     * Gets the number of completed rounds
+     *
+     * @return
+     */
+    public long getRounds()
+    {
+        return this._rounds;
+    }
+
+    /**
+     * Gets the number of rounds abandoned because the deck ran out of cards
+     *
+     * @return
+     */
+    public long getAbortedRounds()
+    {
+        return this._abortedRounds;
+    }
+
+    /**
+     * Gets the number of settled player hands
+     *
+     * @return
+     */
+    public long getHands()
+    {
+        return this._hands;
+    }
+
+    /**
+     * Gets the total payout of all hands in half bet units
+     *
+     * @return
+     */
+    public long getPayout()
+    {
+        return this._payout;
+    }
+
+    /**
+     * Gets the sum of the squared hand payouts in half bet units
+     *
+     * @return
+     */
+    public long getPayoutSquares()
+    {
+        return this._payoutSquares;
+    }
+
+    /**
+     * Gets the average payout per hand in bets
+     *
+     * @return
+     */
+    public double getExpectedValue()
+    {
+        return this._hands == 0 ? 0 : this._payout / 2.0 / this._hands;
+    }
+
+    /**
+     * Gets the standard error of the average payout per hand in bets
+     *
+     * @return
+     */
+    public double getStandardError()
+    {
+        if (this._hands < 2)
+        {
+            return 0;
+        }
+
+        double mean = (double) this._payout / this._hands;
+        double variance = ((double) this._payoutSquares / this._hands - mean * mean) * this._hands / (this._hands - 1);
+        return Math.sqrt(variance / this._hands) / 2.0;
+    }
+
+    /**
+     * Gets the number of hands that ended with a result
+     *
+     * @param result The hand result
+     * @return
+     */
+    public long getResultCount(PlayerHandResult result)
+    {
+        return this._resultCounts[result.ordinal()];
+    }
+
+    /**
+     * Gets the payout of the hands that ended with a result in half bet units
+     *
+     * @param result The hand result
+     * @return
+     */
+    public long getResultPayout(PlayerHandResult result)
+    {
+        return this._resultPayouts[result.ordinal()];
+    }
+
+    /**
+     * Gets the sum of the squared payouts of the hands that ended with a
+     * result
+     *
+     * @param result The hand result
+     * @return
+     */
+    public long getResultPayoutSquares(PlayerHandResult result)
+    {
+        return this._resultPayoutSquares[result.ordinal()];
+    }
+
+    /**
+     * Gets the number of hands that finished with an action
+     *
+     * @param action The hand's last action
+     * @return
+     */
+    public long getActionCount(PlayerHandAction action)
+    {
+        return this._actionCounts[action.ordinal()];
+    }
+
+    /**
+     * Gets the payout of the hands that finished with an action in half bet
+     * units
+     *
+     * @param action The hand's last action
+     * @return
+     */
+    public long getActionPayout(PlayerHandAction action)
+    {
+        return this._actionPayouts[action.ordinal()];
+    }
+
+    /**
+     * Gets the sum of the squared payouts of the hands that finished with an
+     * action
+     *
+     * @param action The hand's last action
+     * @return
+     */
+    public long getActionPayoutSquares(PlayerHandAction action)
+    {
+        return this._actionPayoutSquares[action.ordinal()];
+    }
+
+    /**
+     * Returns the statistics as a string
+     *
+     * @return
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder result = new StringBuilder();
+        result.append("Rounds: ").append(this._rounds).append('\n');
+        result.append("Aborted Rounds: ").append(this._abortedRounds).append('\n');
+        result.append("Hands: ").append(this._hands).append('\n');
+        result.append("Payout per hand: ").append(getExpectedValue()).append(" +/- ").append(getStandardError()).append('\n');
+        for (PlayerHandResult handResult : RESULTS)
+        {
+            result.append("-- ").append(handResult).append(": ").append(this._resultCounts[handResult.ordinal()]).append('\n');
+        }
+        for (PlayerHandAction handAction : ACTIONS)
+        {
+            result.append("-- ").append(handAction).append(": ").append(this._actionCounts[handAction.ordinal()]).append('\n');
+        }
+        return result.toString();
+    }
+
+}
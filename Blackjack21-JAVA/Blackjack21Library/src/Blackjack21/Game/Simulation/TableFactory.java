@@ -0,0 +1,21 @@
+package Blackjack21.Game.Simulation;
+
+import Blackjack21.Game.BlackjackGame;
+import Blackjack21.Game.Helper.RandomSource;
+
+/**
+ * Creates the game tables used by a parallel simulation, every table must be
+ * set up the same way
+ */
+public interface TableFactory
+{
+
+    /**
+     * Create a table with its deck and players ready to play
+     *
+     * @param random The random source the table must use
+     * @return Returns the new table
+     */
+    BlackjackGame createTable(RandomSource random);
+
+}
@@ -0,0 +1,65 @@
+package Blackjack21.Game.Strategy;
+
+/**
+ * The decisions of a strategy table entry and their table symbols
+ */
+public enum StrategyDecision
+{
+    HIT('H'),
+    STAND('S'),
+    DOUBLE_OR_HIT('D'),
+    DOUBLE_OR_STAND('X'),
+    SPLIT('P'),
+    FOLD_OR_HIT('R'),
+    FOLD_OR_STAND('F');
+
+    private static final StrategyDecision[] DECISIONS = values();
+
+    private final char _symbol;
+
+    StrategyDecision(char symbol)
+    {
+        this._symbol = symbol;
+    }
+
+    /**
+     * Gets the decision's table symbol
+     *
+     * @return
+     */
+    public char getSymbol()
+    {
+        return this._symbol;
+    }
+
+    /**
+     * Returns the decision of a table symbol
+     *
+     * @param symbol The table symbol
+     * @return Returns null if the symbol is not a decision
+     */
+    public static StrategyDecision fromSymbol(char symbol)
+    {
+        for (StrategyDecision decision : DECISIONS)
+        {
+            if (decision._symbol == Character.toUpperCase(symbol))
+            {
+                return decision;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the decision of an ordinal
+     *
+     * @param ordinal The decision ordinal
+     * @return
+     */
+    static StrategyDecision of(int ordinal)
+    {
+        return DECISIONS[ordinal];
+    }
+
+}
@@ -0,0 +1,315 @@
+package Blackjack21.Game.Strategy;
+
+import Blackjack21.Game.Analysis.ExpectedValueCalculator;
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
+import Blackjack21.Game.Model.RuleSet;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates the basic strategy of a rule set from the exact expected value of
+ * every decision. Each table cell, a hard total, soft total or pair against
+ * a dealer card, is evaluated as its own fork join task. A cell averages the
+ * two card hands that make up its row, weighted by how likely they are to be
+ * dealt, and keeps the decision with the best expected value.
+ * <p>
+ * Hands are valued by the expected value calculator on the shoe left after
+ * the hand's cards and the dealer card are removed
+ */
+public class StrategyGenerator
+{
+
+    private static final int RANK_COUNT = StrategyTable.RANK_COUNT;
+    private static final int TEN_RANK = RANK_COUNT - 1;
+    private static final int FIRST_HARD_TOTAL = 4;
+    private static final int FIRST_SOFT_TOTAL = 12;
+    // a 21 always stands
+    private static final int LAST_TOTAL = 20;
+    private static final PlayerHandAction[] ACTIONS = PlayerHandAction.values();
+
+    private final RuleSet _rules;
+
+    /**
+     * Initialize the generator
+     *
+     * @param rules The rules to generate the strategy for
+     */
+    public StrategyGenerator(RuleSet rules)
+    {
+        this._rules = rules;
+    }
+
+    /**
+     * Gets the rules the strategy is generated for
+     *
+     * @return
+     */
+    public RuleSet getRules()
+    {
+        return this._rules;
+    }
+
+    /**
+     * Generate the strategy table on the common fork join pool
+     *
+     * @return
+     */
+    public StrategyTable generate()
+    {
+        return generate(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generate the strategy table
+     *
+     * @param pool The pool evaluating the table cells
+     * @return
+     */
+    public StrategyTable generate(ForkJoinPool pool)
+    {
+        byte[] hardRows = StrategyTable.defaultRows();
+        byte[] softRows = StrategyTable.defaultRows();
+        byte[] pairRows = new byte[RANK_COUNT * RANK_COUNT];
+        // each worker thread keeps one calculator, so its cache is shared by
+        // the cells it evaluates
+        ThreadLocal<ExpectedValueCalculator> calculators = ThreadLocal.withInitial(() -> new ExpectedValueCalculator(this._rules));
+        List<Cell> cells = new ArrayList<>();
+        for (int dealerRank = 0; dealerRank < RANK_COUNT; dealerRank++)
+        {
+            for (int total = FIRST_HARD_TOTAL; total <= LAST_TOTAL; total++)
+            {
+                cells.add(new Cell(hardRows, total, dealerRank, false, hardHands(total), calculators));
+            }
+
+            for (int total = FIRST_SOFT_TOTAL; total <= LAST_TOTAL; total++)
+            {
+                cells.add(new Cell(softRows, total, dealerRank, false, new int[]
+                {
+                    0, total - FIRST_SOFT_TOTAL
+                }, calculators));
+            }
+
+            for (int rank = 0; rank < RANK_COUNT; rank++)
+            {
+                cells.add(new Cell(pairRows, rank, dealerRank, true, new int[]
+                {
+                    rank, rank
+                }, calculators));
+            }
+        }
+
+        pool.invoke(new RecursiveAction()
+        {
+            @Override
+            protected void compute()
+            {
+                invokeAll(cells);
+            }
+        });
+
+        return new StrategyTable(hardRows, softRows, pairRows);
+    }
+
+    /**
+     * Generate a table and write it to a file, a file name ending in .bin is
+     * written in the binary form. Without a file the text form is written to
+     * the standard output
+     *
+     * @param args The deck count and an optional file name
+     * @throws java.io.IOException
+     */
+    public static void main(String[] args) throws IOException
+    {
+        RuleSet rules = new RuleSet(args.length > 0 ? Integer.parseInt(args[0]) : 6);
+        StrategyTable table = new StrategyGenerator(rules).generate();
+        if (args.length > 1 && args[1].endsWith(".bin"))
+        {
+            try (OutputStream output = new FileOutputStream(args[1]))
+            {
+                table.writeBinary(output);
+            }
+        }
+        else if (args.length > 1)
+        {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(args[1]), StandardCharsets.US_ASCII))
+            {
+                writeText(writer, rules, table);
+            }
+        }
+        else
+        {
+            // the standard output is flushed but left open
+            writeText(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), rules, table);
+        }
+    }
+
+    /**
+     * Write the text form of a table with a header naming its rules, the
+     * writer is flushed
+     *
+     * @param writer The writer to write to
+     * @param rules The rules the table was generated for
+     * @param table The table
+     * @throws IOException
+     */
+    private static void writeText(Writer writer, RuleSet rules, StrategyTable table) throws IOException
+    {
+        writer.write("# Generated basic strategy for " + rules + "\n");
+        table.write(writer);
+    }
+
+    /**
+     * Returns the two card hands of a hard total without aces, as pairs of
+     * ranks
+     *
+     * @param total The hard total
+     * @return
+     */
+    private static int[] hardHands(int total)
+    {
+        int[] hands = new int[RANK_COUNT * 2];
+        int count = 0;
+        for (int first = 1; first < RANK_COUNT; first++)
+        {
+            int second = total - 2 - first;
+            if (second >= first && second < RANK_COUNT)
+            {
+                hands[count++] = first;
+                hands[count++] = second;
+            }
+        }
+
+        return Arrays.copyOf(hands, count);
+    }
+
+    /**
+     * Returns a full shoe for the rules as card counts by rank
+     *
+     * @return
+     */
+    private int[] newShoe()
+    {
+        int[] shoe = new int[RANK_COUNT];
+        Arrays.fill(shoe, Card.CARD_SYMBOL_COUNT * this._rules.getDeckCount());
+        // tens, jacks, queens and kings
+        shoe[TEN_RANK] *= 4;
+        return shoe;
+    }
+
+    /**
+     * Evaluates one table cell and stores its decision in the rows
+     */
+    @SuppressWarnings("serial")
+    private class Cell extends RecursiveAction
+    {
+
+        private final byte[] _rows;
+        private final int _row;
+        private final int _dealerRank;
+        private final boolean _canSplit;
+        private final int[] _hands;
+        private final ThreadLocal<ExpectedValueCalculator> _calculators;
+
+        Cell(byte[] rows, int row, int dealerRank, boolean canSplit, int[] hands, ThreadLocal<ExpectedValueCalculator> calculators)
+        {
+            this._rows = rows;
+            this._row = row;
+            this._dealerRank = dealerRank;
+            this._canSplit = canSplit;
+            this._hands = hands;
+            this._calculators = calculators;
+        }
+
+        @Override
+        protected void compute()
+        {
+            int[] shoe = newShoe();
+            shoe[this._dealerRank]--;
+            ExpectedValueCalculator calculator = this._calculators.get();
+            int[] handCounts = new int[RANK_COUNT];
+            double[] handValues = new double[ACTIONS.length];
+            double[] values = new double[ACTIONS.length];
+            double weight = 0;
+            for (int index = 0; index < this._hands.length; index += 2)
+            {
+                int first = this._hands[index];
+                int second = this._hands[index + 1];
+                double handWeight = (double) shoe[first] * (shoe[second] - (first == second ? 1 : 0)) * (first == second ? 1 : 2);
+                if (handWeight <= 0)
+                {
+                    continue;
+                }
+
+                shoe[first]--;
+                shoe[second]--;
+                handCounts[first]++;
+                handCounts[second]++;
+                calculator.evaluate(shoe, this._dealerRank, handCounts, false, this._canSplit, handValues);
+                shoe[first]++;
+                shoe[second]++;
+                handCounts[first]--;
+                handCounts[second]--;
+                for (int action = 0; action < ACTIONS.length; action++)
+                {
+                    values[action] += handWeight * handValues[action];
+                }
+
+                weight += handWeight;
+            }
+
+            if (weight > 0)
+            {
+                this._rows[this._row * RANK_COUNT + this._dealerRank] = (byte) decide(values).ordinal();
+            }
+        }
+
+        /**
+         * Select the decision with the best value, actions that are not
+         * allowed have a NaN value
+         *
+         * @param values The action values
+         * @return
+         */
+        private StrategyDecision decide(double[] values)
+        {
+            double stand = values[PlayerHandAction.STAND.ordinal()];
+            double hit = values[PlayerHandAction.HIT.ordinal()];
+            double doubleValue = values[PlayerHandAction.DOUBLE.ordinal()];
+            double fold = values[PlayerHandAction.FOLD.ordinal()];
+            double split = values[PlayerHandAction.SPLIT.ordinal()];
+
+            StrategyDecision decision = hit > stand ? StrategyDecision.HIT : StrategyDecision.STAND;
+            double best = Math.max(hit, stand);
+            if (doubleValue > best)
+            {
+                decision = hit > stand ? StrategyDecision.DOUBLE_OR_HIT : StrategyDecision.DOUBLE_OR_STAND;
+                best = doubleValue;
+            }
+
+            if (fold > best)
+            {
+                decision = hit > stand ? StrategyDecision.FOLD_OR_HIT : StrategyDecision.FOLD_OR_STAND;
+                best = fold;
+            }
+
+            if (split > best)
+            {
+                decision = StrategyDecision.SPLIT;
+            }
+
+            return decision;
+        }
+
+    }
+
+}
@@ -0,0 +1,544 @@
+package Blackjack21.Game.Strategy;
+
+import Blackjack21.Game.Exceptions.StrategyFormatException;
+import Blackjack21.Game.Logic.HandState;
+import Blackjack21.Game.Logic.Player;
+import Blackjack21.Game.Logic.PlayerHand;
+import Blackjack21.Game.Model.Card;
+import Blackjack21.Game.Model.PlayerHandAction;
+import Blackjack21.Game.Simulation.DecisionStrategy;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A basic strategy table. The table is read from rows of hard totals, soft
+ * totals and pairs against the dealer's face up card, and compiled into one
+ * action per hand state and dealer card so a decision is a single array read.
+ * <p>
+ * The text form has one row per line, a row type of hard, soft or pair, the
+ * row total (or a range like 4-8) or pair rank, then the decisions against the
+ * dealer's 2 to 9, ten and ace. Text after a # is ignored.
+ * <pre>
+ * hard 12  H H S S S H H H H H
+ * soft 18  S S S S S S S H H H
+ * pair 8   P P P P P P P P P P
+ * </pre> Rows that are not listed hit below 17 and stand from 17, and pairs that
+ * are not listed play the row of their total. Ranks and dealer cards are
+ * indexed from 0 for an ace to 9 for a ten value card
+ */
+public class StrategyTable implements DecisionStrategy
+{
+
+    public static final int RANK_COUNT = Card.CARD_RANK_COUNT;
+    public static final int TOTAL_COUNT = PlayerHand.MAX_HAND_VALUE + 1;
+
+    private static final String RANK_SYMBOLS = "A23456789T";
+    // the text columns run from the dealer's 2 to the ace
+    private static final int[] COLUMN_RANKS =
+    {
+        1, 2, 3, 4, 5, 6, 7, 8, 9, 0
+    };
+    private static final int BINARY_MAGIC = 0x424A5354;
+    private static final int BINARY_VERSION = 1;
+    private static final byte UNSET = -1;
+    private static final PlayerHandAction[] ACTIONS = PlayerHandAction.values();
+
+    private static final String[] BUILT_IN_RESOURCES =
+    {
+        "basic-1deck.txt", "basic-2deck.txt", "basic-multideck.txt"
+    };
+    private static final StrategyTable[] BUILT_IN_TABLES = new StrategyTable[BUILT_IN_RESOURCES.length];
+
+    private final byte[] _hardRows;
+    private final byte[] _softRows;
+    private final byte[] _pairRows;
+    private final byte[] _stateActions;
+    private final byte[] _pairActions;
+
+    /**
+     * Compile a table from its decision rows, indexed by the row total or pair
+     * rank times 10 plus the dealer card's rank
+     *
+     * @param hardRows The hard total rows
+     * @param softRows The soft total rows
+     * @param pairRows The pair rows
+     */
+    StrategyTable(byte[] hardRows, byte[] softRows, byte[] pairRows)
+    {
+        this._hardRows = hardRows;
+        this._softRows = softRows;
+        this._pairRows = pairRows;
+        this._stateActions = new byte[HandState.STATE_COUNT * RANK_COUNT];
+        this._pairActions = new byte[RANK_COUNT * RANK_COUNT];
+
+        for (int state = 0; state < HandState.STATE_COUNT; state++)
+        {
+            int info = HandState.info(state);
+            int total = HandState.bestTotal(info);
+            byte[] rows = (info & HandState.SOFT) != 0 ? softRows : hardRows;
+            for (int dealerRank = 0; dealerRank < RANK_COUNT; dealerRank++)
+            {
+                PlayerHandAction action;
+                if ((info & HandState.BUST) != 0 || total >= PlayerHand.MAX_HAND_VALUE)
+                {
+                    action = PlayerHandAction.STAND;
+                }
+                else
+                {
+                    action = resolve(rows[total * RANK_COUNT + dealerRank], info);
+                }
+
+                this._stateActions[state * RANK_COUNT + dealerRank] = (byte) action.ordinal();
+            }
+        }
+
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            int info = HandState.info(HandState.next(HandState.next(HandState.EMPTY, rank + 1), rank + 1));
+            for (int dealerRank = 0; dealerRank < RANK_COUNT; dealerRank++)
+            {
+                PlayerHandAction action = resolve(pairRows[rank * RANK_COUNT + dealerRank], info);
+                this._pairActions[rank * RANK_COUNT + dealerRank] = (byte) action.ordinal();
+            }
+        }
+    }
+
+    /**
+     * Returns the built in table for a number of decks, tables assume the
+     * dealer stands on all 17s, doubles on 9 to 11 only, doubles after splits,
+     * one split per hand and fold as late surrender
+     *
+     * @param deckCount Number of decks between 1 and 6
+     * @return
+     */
+    public static synchronized StrategyTable forDeckCount(int deckCount)
+    {
+        if (deckCount < 1 || deckCount > 6)
+        {
+            throw new IllegalArgumentException("Deck count must be between 1 and 6");
+        }
+
+        int index = Math.min(deckCount, BUILT_IN_RESOURCES.length) - 1;
+        if (BUILT_IN_TABLES[index] == null)
+        {
+            String resource = BUILT_IN_RESOURCES[index];
+            try (InputStream stream = StrategyTable.class.getResourceAsStream(resource))
+            {
+                if (stream == null)
+                {
+                    throw new IllegalStateException("Missing strategy resource " + resource);
+                }
+
+                BUILT_IN_TABLES[index] = parse(new InputStreamReader(stream, StandardCharsets.US_ASCII));
+            }
+            catch (IOException ex)
+            {
+                throw new IllegalStateException("Invalid strategy resource " + resource, ex);
+            }
+        }
+
+        return BUILT_IN_TABLES[index];
+    }
+
+    /**
+     * Read a table from its text form
+     *
+     * @param reader The text to read
+     * @return Returns the compiled table
+     * @throws java.io.IOException
+     */
+    public static StrategyTable parse(Reader reader) throws IOException
+    {
+        byte[] hardRows = defaultRows();
+        byte[] softRows = defaultRows();
+        byte[] pairRows = new byte[RANK_COUNT * RANK_COUNT];
+        Arrays.fill(pairRows, UNSET);
+
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null)
+        {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0)
+            {
+                line = line.substring(0, comment);
+            }
+
+            line = line.trim();
+            if (line.isEmpty())
+            {
+                continue;
+            }
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != RANK_COUNT + 2)
+            {
+                throw new StrategyFormatException(lineNumber, "Expected a row type, a row and " + RANK_COUNT + " decisions");
+            }
+
+            byte[] rows;
+            int separator = parts[1].indexOf('-', 1);
+            int first;
+            int last;
+            switch (parts[0].toLowerCase())
+            {
+                case "hard":
+                    rows = hardRows;
+                    first = parseTotal(parts[1], separator, true, lineNumber);
+                    last = parseTotal(parts[1], separator, false, lineNumber);
+                    break;
+                case "soft":
+                    rows = softRows;
+                    first = parseTotal(parts[1], separator, true, lineNumber);
+                    last = parseTotal(parts[1], separator, false, lineNumber);
+                    break;
+                case "pair":
+                    rows = pairRows;
+                    first = parseRank(parts[1], lineNumber);
+                    last = first;
+                    break;
+                default:
+                    throw new StrategyFormatException(lineNumber, "Unknown row type " + parts[0]);
+            }
+
+            if (first > last)
+            {
+                throw new StrategyFormatException(lineNumber, "Invalid total range " + parts[1]);
+            }
+
+            for (int column = 0; column < RANK_COUNT; column++)
+            {
+                String symbol = parts[column + 2];
+                StrategyDecision decision = symbol.length() == 1 ? StrategyDecision.fromSymbol(symbol.charAt(0)) : null;
+                if (decision == null)
+                {
+                    throw new StrategyFormatException(lineNumber, "Unknown decision " + symbol);
+                }
+
+                if (decision == StrategyDecision.SPLIT && rows != pairRows)
+                {
+                    throw new StrategyFormatException(lineNumber, "Only pair rows can split");
+                }
+
+                for (int row = first; row <= last; row++)
+                {
+                    rows[row * RANK_COUNT + COLUMN_RANKS[column]] = (byte) decision.ordinal();
+                }
+            }
+        }
+
+        fillPairRows(pairRows, hardRows, softRows);
+        return new StrategyTable(hardRows, softRows, pairRows);
+    }
+
+    /**
+     * Read a table from its binary form
+     *
+     * @param input The stream to read
+     * @return Returns the compiled table
+     * @throws java.io.IOException
+     */
+    public static StrategyTable readBinary(InputStream input) throws IOException
+    {
+        DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != BINARY_MAGIC)
+        {
+            throw new StrategyFormatException("Not a binary strategy table");
+        }
+
+        int version = data.readUnsignedByte();
+        if (version != BINARY_VERSION)
+        {
+            throw new StrategyFormatException("Unsupported strategy table version " + version);
+        }
+
+        byte[] hardRows = new byte[TOTAL_COUNT * RANK_COUNT];
+        byte[] softRows = new byte[TOTAL_COUNT * RANK_COUNT];
+        byte[] pairRows = new byte[RANK_COUNT * RANK_COUNT];
+        data.readFully(hardRows);
+        data.readFully(softRows);
+        data.readFully(pairRows);
+        checkRows(hardRows, false);
+        checkRows(softRows, false);
+        checkRows(pairRows, true);
+        return new StrategyTable(hardRows, softRows, pairRows);
+    }
+
+    /**
+     * Write the table in its binary form
+     *
+     * @param output The stream to write to
+     * @throws java.io.IOException
+     */
+    public void writeBinary(OutputStream output) throws IOException
+    {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(BINARY_MAGIC);
+        data.writeByte(BINARY_VERSION);
+        data.write(this._hardRows);
+        data.write(this._softRows);
+        data.write(this._pairRows);
+        data.flush();
+    }
+
+    /**
+     * Write the table in its text form, only the hard totals from 4, the soft
+     * totals from 12 and the pairs are written
+     *
+     * @param writer The writer to write to
+     * @throws java.io.IOException
+     */
+    public void write(Writer writer) throws IOException
+    {
+        writer.write("#        2 3 4 5 6 7 8 9 T A\n");
+        for (int total = 4; total < TOTAL_COUNT; total++)
+        {
+            writeRow(writer, "hard " + total, this._hardRows, total);
+        }
+
+        for (int total = 12; total < TOTAL_COUNT; total++)
+        {
+            writeRow(writer, "soft " + total, this._softRows, total);
+        }
+
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            writeRow(writer, "pair " + RANK_SYMBOLS.charAt(rank), this._pairRows, rank);
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Gets the decision of a hard total row
+     *
+     * @param total The hand total
+     * @param dealerRank The dealer card's rank
+     * @return
+     */
+    public StrategyDecision getHardDecision(int total, int dealerRank)
+    {
+        return StrategyDecision.of(this._hardRows[total * RANK_COUNT + dealerRank]);
+    }
+
+    /**
+     * Gets the decision of a soft total row
+     *
+     * @param total The hand total
+     * @param dealerRank The dealer card's rank
+     * @return
+     */
+    public StrategyDecision getSoftDecision(int total, int dealerRank)
+    {
+        return StrategyDecision.of(this._softRows[total * RANK_COUNT + dealerRank]);
+    }
+
+    /**
+     * Gets the decision of a pair row
+     *
+     * @param rank The pair's rank
+     * @param dealerRank The dealer card's rank
+     * @return
+     */
+    public StrategyDecision getPairDecision(int rank, int dealerRank)
+    {
+        return StrategyDecision.of(this._pairRows[rank * RANK_COUNT + dealerRank]);
+    }
+
+    /**
+     * Gets the compiled action of a hand state, doubles and folds are already
+     * replaced where the hand's cards do not allow them
+     *
+     * @param handState The hand state
+     * @param dealerRank The dealer card's rank
+     * @return
+     */
+    public PlayerHandAction getAction(int handState, int dealerRank)
+    {
+        return ACTIONS[this._stateActions[handState * RANK_COUNT + dealerRank]];
+    }
+
+    /**
+     * Gets the compiled action of a pair that can be split
+     *
+     * @param rank The pair's rank
+     * @param dealerRank The dealer card's rank
+     * @return
+     */
+    public PlayerHandAction getPairAction(int rank, int dealerRank)
+    {
+        return ACTIONS[this._pairActions[rank * RANK_COUNT + dealerRank]];
+    }
+
+    @Override
+    public PlayerHandAction decide(Player player, PlayerHand hand, boolean splitHand, Card dealerCard)
+    {
+        int dealerRank = dealerCard.getCardValue() - 1;
+        if (!splitHand && player.getCanSplitHand())
+        {
+            int rank = Math.min(hand.getCardCode(0) / Card.CARD_SYMBOL_COUNT, RANK_COUNT - 1);
+            return ACTIONS[this._pairActions[rank * RANK_COUNT + dealerRank]];
+        }
+
+        return ACTIONS[this._stateActions[hand.getHandState() * RANK_COUNT + dealerRank]];
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof StrategyTable))
+        {
+            return false;
+        }
+
+        StrategyTable table = (StrategyTable) obj;
+        return Arrays.equals(this._hardRows, table._hardRows)
+                && Arrays.equals(this._softRows, table._softRows)
+                && Arrays.equals(this._pairRows, table._pairRows);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return (Arrays.hashCode(this._hardRows) * 31 + Arrays.hashCode(this._softRows)) * 31 + Arrays.hashCode(this._pairRows);
+    }
+
+    /**
+     * Replace a decision with the action the hand's cards allow
+     *
+     * @param decision The decision ordinal
+     * @param info The hand's packed information
+     * @return
+     */
+    private static PlayerHandAction resolve(int decision, int info)
+    {
+        int total = HandState.bestTotal(info);
+        boolean firstCards = HandState.cardCount(info) == 2;
+        boolean canDouble = firstCards && total >= 9 && total <= 11;
+        switch (StrategyDecision.of(decision))
+        {
+            case STAND:
+                return PlayerHandAction.STAND;
+            case DOUBLE_OR_HIT:
+                return canDouble ? PlayerHandAction.DOUBLE : PlayerHandAction.HIT;
+            case DOUBLE_OR_STAND:
+                return canDouble ? PlayerHandAction.DOUBLE : PlayerHandAction.STAND;
+            case SPLIT:
+                return PlayerHandAction.SPLIT;
+            case FOLD_OR_HIT:
+                return firstCards ? PlayerHandAction.FOLD : PlayerHandAction.HIT;
+            case FOLD_OR_STAND:
+                return firstCards ? PlayerHandAction.FOLD : PlayerHandAction.STAND;
+            default:
+                return PlayerHandAction.HIT;
+        }
+    }
+
+    /**
+     * Returns rows that hit below 17 and stand from 17
+     *
+     * @return
+     */
+    static byte[] defaultRows()
+    {
+        byte[] rows = new byte[TOTAL_COUNT * RANK_COUNT];
+        for (int total = 0; total < TOTAL_COUNT; total++)
+        {
+            StrategyDecision decision = total >= 17 ? StrategyDecision.STAND : StrategyDecision.HIT;
+            Arrays.fill(rows, total * RANK_COUNT, (total + 1) * RANK_COUNT, (byte) decision.ordinal());
+        }
+
+        return rows;
+    }
+
+    private static void fillPairRows(byte[] pairRows, byte[] hardRows, byte[] softRows)
+    {
+        for (int rank = 0; rank < RANK_COUNT; rank++)
+        {
+            // a pair of aces is a soft 12
+            byte[] rows = rank == 0 ? softRows : hardRows;
+            int total = rank == 0 ? 12 : (rank + 1) * 2;
+            for (int dealerRank = 0; dealerRank < RANK_COUNT; dealerRank++)
+            {
+                if (pairRows[rank * RANK_COUNT + dealerRank] == UNSET)
+                {
+                    pairRows[rank * RANK_COUNT + dealerRank] = rows[total * RANK_COUNT + dealerRank];
+                }
+            }
+        }
+    }
+
+    private static void checkRows(byte[] rows, boolean canSplit) throws StrategyFormatException
+    {
+        for (byte decision : rows)
+        {
+            if (decision < 0 || decision >= StrategyDecision.values().length
+                    || (!canSplit && decision == StrategyDecision.SPLIT.ordinal()))
+            {
+                throw new StrategyFormatException("Invalid strategy decision " + decision);
+            }
+        }
+    }
+
+    private static int parseTotal(String text, int separator, boolean first, int lineNumber) throws StrategyFormatException
+    {
+        String value = separator < 0 ? text : first ? text.substring(0, separator) : text.substring(separator + 1);
+        try
+        {
+            int total = Integer.parseInt(value);
+            if (total >= 0 && total < TOTAL_COUNT)
+            {
+                return total;
+            }
+        }
+        catch (NumberFormatException ex)
+        {
+        }
+
+        throw new StrategyFormatException(lineNumber, "Invalid total " + text);
+    }
+
+    private static int parseRank(String text, int lineNumber) throws StrategyFormatException
+    {
+        int rank = text.length() == 1 ? RANK_SYMBOLS.indexOf(Character.toUpperCase(text.charAt(0))) : -1;
+        if (text.equals("10"))
+        {
+            rank = RANK_COUNT - 1;
+        }
+
+        if (rank < 0)
+        {
+            throw new StrategyFormatException(lineNumber, "Invalid pair rank " + text);
+        }
+
+        return rank;
+    }
+
+    private static void writeRow(Writer writer, String name, byte[] rows, int row) throws IOException
+    {
+        StringBuilder line = new StringBuilder(name);
+        while (line.length() < 8)
+        {
+            line.append(' ');
+        }
+
+        for (int column = 0; column < RANK_COUNT; column++)
+        {
+            line.append(' ').append(StrategyDecision.of(rows[row * RANK_COUNT + COLUMN_RANKS[column]]).getSymbol());
+        }
+
+        writer.write(line.append('\n').toString());
+    }
+
+}